@@ -1,9 +1,11 @@
 package com.example.privattest.config;
 
 import com.example.privattest.telegram.ExchangeRatesBot;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
@@ -11,6 +13,12 @@ import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
 
 @Configuration
 @EnableCaching
+@ImportRuntimeHints(ApplicationRuntimeHints.class)
+@EnableConfigurationProperties({
+        RateLimitProperties.class,
+        TelegramBroadcastProperties.class,
+        NotificationOutboxProperties.class
+})
 public class AppConfig {
     @Bean
     public WebClient webClient(WebClient.Builder builder) {
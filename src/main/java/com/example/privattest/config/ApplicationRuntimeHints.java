@@ -0,0 +1,75 @@
+package com.example.privattest.config;
+
+import com.example.privattest.dto.ConversionDto;
+import com.example.privattest.dto.ConversionRequestDto;
+import com.example.privattest.dto.CurrencySnapshotDto;
+import com.example.privattest.dto.DynamicDetailsDto;
+import com.example.privattest.dto.ErrorResponseDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.dto.MonoRateApiResponse;
+import com.example.privattest.dto.PointInTimeRateDto;
+import com.example.privattest.dto.PrivatRateApiResponse;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.CurrencyConverter;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.model.UserChatId;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.telegram.telegrambots.meta.api.objects.ApiResponse;
+import org.telegram.telegrambots.meta.api.objects.ResponseParameters;
+
+/**
+ * Reflection and resource hints for the GraalVM native image.
+ *
+ * <p>Entities and DTOs are (de)serialized reflectively by Hibernate and Jackson,
+ * which also reads the binary schema mix-ins, currencies are converted through their static
+ * factory methods, the MapStruct mapper implementation is generated at compile time
+ * and only known by name, and the cache and Liquibase configurations are loaded
+ * from the classpath.</p>
+ */
+public class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+    private static final String MAPPER_IMPLEMENTATION =
+            "com.example.privattest.mapper.ExchangeRateMapperImpl";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        MemberCategory[] categories = {
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS,
+                MemberCategory.DECLARED_FIELDS
+        };
+        for (Class<?> type : new Class<?>[] {
+                ExchangeRate.class,
+                CurrencyConverter.class,
+                Currency.class,
+                UserChatId.class,
+                MonoRateApiResponse.class,
+                PrivatRateApiResponse.class,
+                ExchangeRateDto.class,
+                DynamicDetailsDto.class,
+                CurrencySnapshotDto.class,
+                PointInTimeRateDto.class,
+                ConversionRequestDto.class,
+                ConversionDto.class,
+                ErrorResponseDto.class,
+                BinaryFormatModule.ExchangeRateSchema.class,
+                BinaryFormatModule.DynamicDetailsSchema.class,
+                BinaryFormatModule.CurrencySnapshotSchema.class,
+                BinaryFormatModule.PointInTimeRateSchema.class,
+                BinaryFormatModule.ConversionSchema.class,
+                ApiResponse.class,
+                ResponseParameters.class
+        }) {
+            hints.reflection().registerType(type, categories);
+        }
+        hints.reflection().registerType(TypeReference.of(MAPPER_IMPLEMENTATION), categories);
+
+        hints.resources()
+                .registerPattern("ehcache.xml")
+                .registerPattern("currencies.csv")
+                .registerPattern("db/changelog/*.yaml")
+                .registerPattern("db/changelog/changes/*.yaml");
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.privattest.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Compact binary representations of the API responses, chosen by the {@code Accept} header:
+ * {@code application/cbor} and {@code application/x-msgpack}. JSON stays the default.
+ *
+ * <p>The converters are inserted right after the Jackson JSON converter rather than
+ * registered as beans: Spring Boot puts converter beans first, so a request without
+ * an {@code Accept} header, or accepting any type, would get MessagePack.
+ * The default CBOR converter is replaced. The mappers are built from the application's
+ * builder, so they share its settings, plus the fixed schema of
+ * {@link BinaryFormatModule}.</p>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BinaryFormatConfig implements WebMvcConfigurer {
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilders;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        int json = 0;
+        while (json < converters.size()
+                && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+            json++;
+        }
+        // The builder is a prototype, every mapper needs its own one
+        int position = Math.min(json + 1, converters.size());
+        converters.add(position,
+                cborHttpMessageConverter(objectMapperBuilders.getObject()));
+        converters.add(position + 1,
+                messagePackHttpMessageConverter(objectMapperBuilders.getObject()));
+    }
+
+    public static MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder
+                .factory(new CBORFactory())
+                .postConfigurer(mapper -> mapper.registerModule(new BinaryFormatModule()))
+                .build());
+    }
+
+    public static MessagePackHttpMessageConverter messagePackHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MessagePackHttpMessageConverter(builder
+                .factory(new MessagePackFactory())
+                .postConfigurer(mapper -> mapper.registerModule(
+                        new BinaryFormatModule().decimalsAsFractions()))
+                .build());
+    }
+}
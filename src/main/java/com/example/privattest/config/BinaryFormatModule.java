@@ -0,0 +1,102 @@
+package com.example.privattest.config;
+
+import com.example.privattest.dto.ConversionDto;
+import com.example.privattest.dto.CurrencySnapshotDto;
+import com.example.privattest.dto.DynamicDetailsDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.dto.PointInTimeRateDto;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Jackson module giving the rate DTOs a fixed schema in the binary formats.
+ *
+ * <p>A DTO is written as an array of its fields in the order of the record components
+ * instead of an object with field names, and a timestamp as UTC epoch milliseconds instead
+ * of an ISO string. Decimals are left to the format: CBOR has a native decimal fraction,
+ * the other formats get {@link #decimalsAsFractions()}.</p>
+ */
+public class BinaryFormatModule extends SimpleModule {
+
+    public BinaryFormatModule() {
+        super(BinaryFormatModule.class.getSimpleName());
+        setMixInAnnotation(ExchangeRateDto.class, ExchangeRateSchema.class);
+        setMixInAnnotation(DynamicDetailsDto.class, DynamicDetailsSchema.class);
+        setMixInAnnotation(CurrencySnapshotDto.class, CurrencySnapshotSchema.class);
+        setMixInAnnotation(PointInTimeRateDto.class, PointInTimeRateSchema.class);
+        setMixInAnnotation(ConversionDto.class, ConversionSchema.class);
+        addSerializer(LocalDateTime.class, new EpochMillisSerializer());
+    }
+
+    /**
+     * Writes decimals as {@code [exponent, mantissa]} arrays, the layout of the CBOR
+     * decimal fraction, for the formats without a decimal type of their own.
+     *
+     * @return this module
+     */
+    public BinaryFormatModule decimalsAsFractions() {
+        addSerializer(BigDecimal.class, new DecimalFractionSerializer());
+        return this;
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"currency", "rateBuy", "rateSell", "timestamp"})
+    interface ExchangeRateSchema {
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"currency", "percentageChangeBuy", "oldRateTimestamp",
+            "percentageChangeSell", "newRateTimestamp"})
+    interface DynamicDetailsSchema {
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"currency", "latestRate", "hourlyDynamics"})
+    interface CurrencySnapshotSchema {
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"time", "rate"})
+    interface PointInTimeRateSchema {
+    }
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"from", "to", "amount", "convertedAmount", "rateTimestamp"})
+    interface ConversionSchema {
+    }
+
+    private static final class EpochMillisSerializer extends StdSerializer<LocalDateTime> {
+        private EpochMillisSerializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator,
+                              SerializerProvider provider) throws IOException {
+            generator.writeNumber(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    private static final class DecimalFractionSerializer extends StdSerializer<BigDecimal> {
+        private DecimalFractionSerializer() {
+            super(BigDecimal.class);
+        }
+
+        @Override
+        public void serialize(BigDecimal value, JsonGenerator generator,
+                              SerializerProvider provider) throws IOException {
+            generator.writeStartArray(value, 2);
+            generator.writeNumber(-value.scale());
+            generator.writeNumber(value.unscaledValue());
+            generator.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.privattest.config;
+
+/**
+ * Names of the caches configured in {@code ehcache.xml}, shared by the blocking
+ * and the reactive read paths.
+ */
+public final class CacheNames {
+    /**
+     * Latest rate per currency.
+     */
+    public static final String EXCHANGE_RATES = "exchangeRates";
+    /**
+     * Hourly dynamics per currency.
+     */
+    public static final String DYNAMIC_DETAILS = "dynamicDetails";
+    /**
+     * Daily dynamics per currency.
+     */
+    public static final String DYNAMIC_DETAILS_LIST = "dynamicDetailsList";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.privattest.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * Reads and writes MessagePack with Jackson, as Spring does for CBOR and Smile.
+ */
+public class MessagePackHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+    public static final String APPLICATION_MSGPACK_VALUE = "application/x-msgpack";
+    public static final MediaType APPLICATION_MSGPACK =
+            MediaType.parseMediaType(APPLICATION_MSGPACK_VALUE);
+
+    public MessagePackHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper, APPLICATION_MSGPACK);
+    }
+}
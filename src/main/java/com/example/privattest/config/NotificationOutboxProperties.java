@@ -0,0 +1,20 @@
+package com.example.privattest.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Delivery of the notifications queued in the outbox.
+ *
+ * @param batchSize   the number of deliveries an instance claims at once
+ * @param lease       the time the claimed deliveries are reserved for the instance;
+ *                    after it they are claimed again, e.g. when the instance crashed
+ * @param maxAttempts the number of claims of a delivery before it is marked as failed
+ */
+@ConfigurationProperties("notification.outbox")
+public record NotificationOutboxProperties(
+        int batchSize,
+        Duration lease,
+        int maxAttempts
+) {
+}
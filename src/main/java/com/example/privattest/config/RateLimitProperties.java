@@ -0,0 +1,34 @@
+package com.example.privattest.config;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits of the API request rate per client.
+ *
+ * @param maxClients    the number of client addresses tracked before new ones evict others
+ * @param anonymousTier the tier of the clients without a known API key, tracked by address
+ * @param tiers         the tiers by name
+ * @param apiKeys       the tier names by API key
+ */
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(
+        int maxClients,
+        String anonymousTier,
+        Map<String, Tier> tiers,
+        Map<String, String> apiKeys
+) {
+    public RateLimitProperties {
+        tiers = tiers == null ? Map.of() : tiers;
+        apiKeys = apiKeys == null ? Map.of() : apiKeys;
+    }
+
+    /**
+     * A token bucket configuration.
+     *
+     * @param capacity        the number of requests a client may make in a burst
+     * @param refillPerSecond the sustained number of requests per second
+     */
+    public record Tier(long capacity, double refillPerSecond) {
+    }
+}
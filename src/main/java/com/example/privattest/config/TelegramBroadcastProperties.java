@@ -0,0 +1,27 @@
+package com.example.privattest.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits of the broadcast of a message to all Telegram users of the bot.
+ *
+ * @param messagesPerSecond        the messages sent per second across all chats
+ * @param messagesPerChatPerSecond the messages sent per second to a single chat
+ * @param maxInFlight              the maximum number of messages being sent at once
+ * @param maxAttempts              the number of attempts to send a message before giving up
+ * @param retryDelay               the delay before another attempt after a failure
+ *                                 that came without a {@code retry_after}
+ * @param requestTimeout           the time to wait for a response before the message
+ *                                 is retried like after a network error
+ */
+@ConfigurationProperties("telegram.broadcast")
+public record TelegramBroadcastProperties(
+        double messagesPerSecond,
+        double messagesPerChatPerSecond,
+        int maxInFlight,
+        int maxAttempts,
+        Duration retryDelay,
+        Duration requestTimeout
+) {
+}
@@ -1,28 +1,62 @@
 package com.example.privattest.controller;
 
+import com.example.privattest.dto.ConversionDto;
+import com.example.privattest.dto.ConversionRequestDto;
+import com.example.privattest.dto.CurrencySnapshotDto;
 import com.example.privattest.dto.DynamicDetailsDto;
 import com.example.privattest.dto.ErrorResponseDto;
 import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.dto.PointInTimeRateDto;
+import com.example.privattest.exception.InvalidRequestParameterException;
 import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExportFormat;
+import com.example.privattest.service.ConversionService;
+import com.example.privattest.service.ExchangeRateExportService;
 import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.service.ExchangeRateVersionService;
+import com.example.privattest.service.PointInTimeRateService;
+import com.example.privattest.service.RateStreamService;
 import com.example.privattest.validation.AllowedCurrency;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/exchange-rate")
 @RequiredArgsConstructor
 @Tag(
@@ -32,7 +66,16 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 @Validated
 public class ExchangeRateController {
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final MediaType GZIP_MEDIA_TYPE = MediaType.parseMediaType("application/gzip");
+    private static final int MAX_POINT_IN_TIME_BATCH_SIZE = 1000;
+    private static final int MAX_CONVERSION_BATCH_SIZE = 1000;
     private final ExchangeRateService exchangeRateService;
+    private final ExchangeRateExportService exchangeRateExportService;
+    private final ExchangeRateVersionService exchangeRateVersionService;
+    private final RateStreamService rateStreamService;
+    private final PointInTimeRateService pointInTimeRateService;
+    private final ConversionService conversionService;
 
     /**
      * Retrieves the latest exchange rate for the specified currency.
@@ -66,14 +109,16 @@ public class ExchangeRateController {
             )
     })
     @GetMapping("/latest")
-    public ExchangeRateDto getLatestRate(
+    public ResponseEntity<ExchangeRateDto> getLatestRate(
             @RequestParam
             @Parameter(
                     description = "Currency code",
-                    schema = @Schema(type = "string", allowableValues = {"USD", "EUR"})
+                    schema = @Schema(type = "string", example = "USD")
             )
-            @AllowedCurrency Currency currency) {
-        return exchangeRateService.getLatestRate(currency);
+            @AllowedCurrency Currency currency,
+            WebRequest request) {
+        return conditionalResponse(currency, request,
+                () -> exchangeRateService.getLatestRate(currency));
     }
 
     /**
@@ -116,15 +161,17 @@ public class ExchangeRateController {
             )
     })
     @GetMapping("/hourly-difference")
-    public DynamicDetailsDto getHourlyDifference(
+    public ResponseEntity<DynamicDetailsDto> getHourlyDifference(
             @RequestParam
             @Parameter(
                     description = "Currency code",
-                    schema = @Schema(type = "string", allowableValues = {"USD", "EUR"})
+                    schema = @Schema(type = "string", example = "USD")
             )
-            @AllowedCurrency Currency currency
+            @AllowedCurrency Currency currency,
+            WebRequest request
     ) {
-        return exchangeRateService.getHourlyDynamics(currency);
+        return conditionalResponse(currency, request,
+                () -> exchangeRateService.getHourlyDynamics(currency));
     }
 
     /**
@@ -159,13 +206,438 @@ public class ExchangeRateController {
             )
     })
     @GetMapping("/daily-dynamics")
-    public List<DynamicDetailsDto> getDailyDynamics(
+    public ResponseEntity<List<DynamicDetailsDto>> getDailyDynamics(
             @RequestParam
             @Parameter(
                     description = "Currency code",
-                    schema = @Schema(type = "string", allowableValues = {"USD", "EUR"})
+                    schema = @Schema(type = "string", example = "USD")
             )
-            @AllowedCurrency Currency currency) {
-        return exchangeRateService.getDailyDynamics(currency);
+            @AllowedCurrency Currency currency,
+            WebRequest request) {
+        return conditionalResponse(currency, request,
+                () -> exchangeRateService.getDailyDynamics(currency));
+    }
+
+    /**
+     * Retrieves the latest exchange rates of several currencies in one call.
+     *
+     * <p><i>
+     * Currencies without any data are left out of the snapshot.
+     * </i></p>
+     *
+     * @param currencies         the currency codes, all tracked currencies if omitted
+     * @param withHourlyDynamics whether to include the hourly exchange rate change
+     * @return the latest rate (and the hourly change) of each requested currency
+     */
+    @Operation(
+            summary = "Get the latest exchange rates of several currencies",
+            description = """
+                    Fetches the latest exchange rates, and optionally their change over\s
+                    the last hour, for the specified or all tracked currencies at once.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved the latest exchange rates",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(
+                                    implementation = CurrencySnapshotDto.class,
+                                    type = "array"
+                            ))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/snapshot")
+    public List<CurrencySnapshotDto> getSnapshot(
+            @RequestParam(required = false)
+            @Parameter(
+                    description = "Currency codes, e.g. USD,EUR",
+                    array = @ArraySchema(schema = @Schema(
+                            type = "string", example = "USD"))
+            )
+            List<@AllowedCurrency Currency> currencies,
+            @RequestParam(defaultValue = "false")
+            @Parameter(description = "Include the exchange rate change over the last hour")
+            boolean withHourlyDynamics) {
+        return exchangeRateService.getSnapshot(currencies, withHourlyDynamics);
+    }
+
+    /**
+     * Retrieves the exchange rate in effect at the specified time.
+     *
+     * <p><i>
+     * If there are no rates before that time, it returns a successful status 200 (Ok)
+     * with error detailed message.
+     * </i></p>
+     *
+     * @param currency the currency code
+     * @param time     the time to get the rate at
+     * @return the latest exchange rate recorded not after the time
+     */
+    @Operation(
+            summary = "Get the exchange rate at a point in time",
+            description = """
+                    Fetches the exchange rate in effect at the specified time: the latest\s
+                    one recorded not after it.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved the exchange rate or no data available",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(oneOf = {
+                                    ExchangeRateDto.class,
+                                    ErrorResponseDto.class
+                            }))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/rate-at")
+    public ExchangeRateDto getRateAt(
+            @RequestParam
+            @Parameter(
+                    description = "Currency code",
+                    schema = @Schema(type = "string", example = "USD")
+            )
+            @AllowedCurrency Currency currency,
+            @RequestParam
+            @Parameter(description = "Point in time, e.g. 2024-12-01T15:30:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time) {
+        return pointInTimeRateService.getRateAt(currency, time);
+    }
+
+    /**
+     * Retrieves the exchange rates in effect at each of the specified times.
+     *
+     * @param currency the currency code
+     * @param times    the times to get the rates at
+     * @return the rate at each time in the requested order, {@code null} if there are
+     * no rates before it
+     */
+    @Operation(
+            summary = "Get the exchange rates at several points in time",
+            description = """
+                    Fetches the exchange rates in effect at each of the specified times\s
+                    in one call.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully retrieved the exchange rates",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(
+                                    implementation = PointInTimeRateDto.class,
+                                    type = "array"
+                            ))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/rate-at")
+    public List<PointInTimeRateDto> getRatesAt(
+            @RequestParam
+            @Parameter(
+                    description = "Currency code",
+                    schema = @Schema(type = "string", example = "USD")
+            )
+            @AllowedCurrency Currency currency,
+            @RequestBody
+            @Size(min = 1, max = MAX_POINT_IN_TIME_BATCH_SIZE) List<@NotNull LocalDateTime> times) {
+        return pointInTimeRateService.getRatesAt(currency, times);
+    }
+
+    /**
+     * Converts an amount between currencies at the latest or a past exchange rate.
+     *
+     * <p><i>
+     * If there is no rate of either currency, it returns a successful status 200 (Ok)
+     * with error detailed message.
+     * </i></p>
+     *
+     * @param from   the code of the currency to convert from
+     * @param to     the code of the currency to convert to
+     * @param amount the amount to convert
+     * @param time   the time of the rates to use, the latest rates if omitted
+     * @return the converted amount, rounded to the minor unit of the target currency
+     */
+    @Operation(
+            summary = "Convert an amount",
+            description = """
+                    Converts an amount at the bank rates: the source currency at its buy rate,\s
+                    the target one at its sell rate, through the hryvnia.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully converted the amount or no data available",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(oneOf = {
+                                    ConversionDto.class,
+                                    ErrorResponseDto.class
+                            }))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/convert")
+    public ConversionDto convert(
+            @RequestParam
+            @Parameter(
+                    description = "Currency code to convert from",
+                    schema = @Schema(type = "string", example = "USD")
+            )
+            Currency from,
+            @RequestParam
+            @Parameter(
+                    description = "Currency code to convert to",
+                    schema = @Schema(type = "string", example = "USD")
+            )
+            Currency to,
+            @RequestParam
+            @Parameter(description = "Amount to convert, e.g. 100.50")
+            BigDecimal amount,
+            @RequestParam(required = false)
+            @Parameter(description = "Time of the rates to use, e.g. 2024-12-01T15:30:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time) {
+        return conversionService.convert(new ConversionRequestDto(from, to, amount, time));
+    }
+
+    /**
+     * Converts several amounts in one call.
+     *
+     * @param requests the conversions to make
+     * @return the converted amounts in the requested order
+     */
+    @Operation(
+            summary = "Convert several amounts",
+            description = """
+                    Converts up to 1000 amounts in one call. Conversions without a time\s
+                    use the same latest rates.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully converted the amounts",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(
+                                    implementation = ConversionDto.class,
+                                    type = "array"
+                            ))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @PostMapping("/convert")
+    public List<ConversionDto> convertAll(
+            @RequestBody
+            @Size(min = 1, max = MAX_CONVERSION_BATCH_SIZE)
+            List<@NotNull @Valid ConversionRequestDto> requests) {
+        return conversionService.convertAll(requests);
+    }
+
+    /**
+     * Streams the latest exchange rates of the specified currencies as Server-Sent Events.
+     *
+     * <p><i>
+     * The current rates are sent right after subscribing, the new ones after every ingestion,
+     * as {@code rates} events with the same content as the snapshot.
+     * </i></p>
+     *
+     * @param currencies the currency codes, all tracked currencies if omitted
+     * @return the stream of rate events
+     */
+    @Operation(
+            summary = "Stream exchange rates",
+            description = """
+                    Pushes the latest exchange rates and their change over the last hour\s
+                    for the specified or all tracked currencies whenever they are updated.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Subscribed to the stream of exchange rates",
+                    content = @Content(mediaType = "text/event-stream",
+                            schema = @Schema(
+                                    implementation = CurrencySnapshotDto.class,
+                                    type = "array"
+                            ))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRates(
+            @RequestParam(required = false)
+            @Parameter(
+                    description = "Currency codes, e.g. USD,EUR",
+                    array = @ArraySchema(schema = @Schema(
+                            type = "string", example = "USD"))
+            )
+            List<@AllowedCurrency Currency> currencies) {
+        return rateStreamService.subscribe(currencies);
+    }
+
+    /**
+     * Exports the history of exchange rates for the specified period.
+     *
+     * <p><i>
+     * Rates are written to the response as they are read from the database,
+     * so exports of any length use the same amount of memory.
+     * </i></p>
+     *
+     * @param currency the currency code
+     * @param from     the beginning of the period, inclusive
+     * @param to       the end of the period, inclusive
+     * @param format   the output format, NDJSON or CSV
+     * @param gzip     whether to send the export as a gzip file instead
+     * @return the streamed list of exchange rates, oldest first
+     */
+    @Operation(
+            summary = "Export exchange rate history",
+            description = """
+                    Streams all exchange rates for the specified currency and period\s
+                    as NDJSON or CSV, optionally as a gzip file of them.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully exported exchange rates",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson",
+                                    schema = @Schema(implementation = ExchangeRateDto.class)),
+                            @Content(mediaType = "text/csv"),
+                            @Content(mediaType = "application/gzip")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request parameters",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponseDto.class))
+            )
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRates(
+            @RequestParam
+            @Parameter(
+                    description = "Currency code",
+                    schema = @Schema(type = "string", example = "USD")
+            )
+            @AllowedCurrency Currency currency,
+            @RequestParam
+            @Parameter(description = "Beginning of the period, e.g. 2024-12-01T00:00:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam
+            @Parameter(description = "End of the period, e.g. 2024-12-31T23:59:59")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON")
+            @Parameter(description = "Output format")
+            ExportFormat format,
+            @RequestParam(defaultValue = "false")
+            @Parameter(description = "Send the export as a gzip file")
+            boolean gzip) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestParameterException(
+                    "The beginning of the period must not be after its end");
+        }
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                // Sync flush pushes every exported page to the client right away
+                GZIPOutputStream gzipStream = new GZIPOutputStream(
+                        outputStream, GZIP_BUFFER_SIZE, true
+                );
+                exchangeRateExportService.exportRates(currency, from, to, format, gzipStream);
+                gzipStream.finish();
+            } else {
+                exchangeRateExportService.exportRates(currency, from, to, format, outputStream);
+            }
+        };
+        // The gzip file is the payload itself, not a transfer encoding clients would undo
+        String fileName = String.format("exchange-rates-%s.%s%s",
+                currency, format.getFileExtension(), gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(gzip
+                        ? GZIP_MEDIA_TYPE
+                        : MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    /**
+     * Builds a response with validators derived from the time of the latest rate.
+     *
+     * <p>If the client already has the current version, {@code 304 Not Modified} is returned
+     * without calculating the body. {@code Cache-Control: max-age} lasts until the next
+     * scheduled ingestion. If the version isn't known, the body is returned without validators
+     * and mustn't be reused without revalidation. The body may be JSON or one of the binary
+     * formats, depending on {@code Accept}, so caches have to vary by it.</p>
+     *
+     * @param currency the requested currency
+     * @param request  the request carrying the conditional headers
+     * @param body     supplies the response body
+     * @return the response with the body, or the {@code 304 Not Modified} response
+     */
+    private <T> ResponseEntity<T> conditionalResponse(
+            Currency currency, WebRequest request, Supplier<T> body) {
+        Optional<LocalDateTime> lastModified = exchangeRateVersionService.getLastModified(currency);
+        if (lastModified.isEmpty()) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(body.get());
+        }
+        long lastModifiedMillis = exchangeRateVersionService.toEpochMilli(lastModified.get());
+        String etag = exchangeRateVersionService.getEtag(currency, lastModified.get());
+        CacheControl cacheControl = CacheControl
+                .maxAge(exchangeRateVersionService.getTimeToLive(lastModified.get()))
+                .cachePublic();
+        if (request.checkNotModified(etag, lastModifiedMillis)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModifiedMillis)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
     }
 }
@@ -0,0 +1,134 @@
+package com.example.privattest.controller;
+
+import com.example.privattest.dto.CurrencySnapshotDto;
+import com.example.privattest.dto.DynamicDetailsDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.ExchangeRateVersionService;
+import com.example.privattest.service.ReactiveExchangeRateService;
+import com.example.privattest.validation.AllowedCurrency;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of the read endpoints of {@link ExchangeRateController},
+ * serving the same paths and responses when the application runs
+ * as a reactive web application.
+ */
+@RestController
+@RequestMapping("/api/exchange-rate")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Validated
+public class ReactiveExchangeRateController {
+    private final ReactiveExchangeRateService reactiveExchangeRateService;
+    private final ExchangeRateVersionService exchangeRateVersionService;
+
+    /**
+     * Retrieves the latest exchange rate for the specified currency.
+     *
+     * @param currency the currency code
+     * @param exchange the exchange carrying the conditional headers
+     * @return the latest exchange rate for the specified currency
+     */
+    @GetMapping("/latest")
+    public Mono<ResponseEntity<ExchangeRateDto>> getLatestRate(
+            @RequestParam @AllowedCurrency Currency currency,
+            ServerWebExchange exchange) {
+        return conditionalResponse(currency, exchange,
+                reactiveExchangeRateService.getLatestRate(currency));
+    }
+
+    /**
+     * Retrieves the exchange rate change for the last hour.
+     *
+     * @param currency the currency code
+     * @param exchange the exchange carrying the conditional headers
+     * @return the exchange rate percentage change details
+     */
+    @GetMapping("/hourly-difference")
+    public Mono<ResponseEntity<DynamicDetailsDto>> getHourlyDifference(
+            @RequestParam @AllowedCurrency Currency currency,
+            ServerWebExchange exchange) {
+        return conditionalResponse(currency, exchange,
+                reactiveExchangeRateService.getHourlyDynamics(currency));
+    }
+
+    /**
+     * Retrieves hourly exchange rate dynamics for the current day.
+     *
+     * @param currency the currency code
+     * @param exchange the exchange carrying the conditional headers
+     * @return a list of hourly percentage changes in exchange rates
+     */
+    @GetMapping("/daily-dynamics")
+    public Mono<ResponseEntity<List<DynamicDetailsDto>>> getDailyDynamics(
+            @RequestParam @AllowedCurrency Currency currency,
+            ServerWebExchange exchange) {
+        return conditionalResponse(currency, exchange,
+                reactiveExchangeRateService.getDailyDynamics(currency));
+    }
+
+    /**
+     * Retrieves the latest exchange rates of several currencies in one call.
+     *
+     * @param currencies         the currency codes, all tracked currencies if omitted
+     * @param withHourlyDynamics whether to include the hourly exchange rate change
+     * @return the latest rate (and the hourly change) of each requested currency
+     */
+    @GetMapping("/snapshot")
+    public Mono<List<CurrencySnapshotDto>> getSnapshot(
+            @RequestParam(required = false) List<@AllowedCurrency Currency> currencies,
+            @RequestParam(defaultValue = "false") boolean withHourlyDynamics) {
+        return reactiveExchangeRateService.getSnapshot(currencies, withHourlyDynamics);
+    }
+
+    /**
+     * Builds a response with validators derived from the time of the latest rate,
+     * the same way {@link ExchangeRateController} does. The body isn't subscribed to
+     * if {@code 304 Not Modified} is returned.
+     *
+     * @param currency the requested currency
+     * @param exchange the exchange carrying the conditional headers
+     * @param body     the response body
+     * @return the response with the body, or the {@code 304 Not Modified} response
+     */
+    private <T> Mono<ResponseEntity<T>> conditionalResponse(
+            Currency currency, ServerWebExchange exchange, Mono<T> body) {
+        Optional<LocalDateTime> lastModified = exchangeRateVersionService.getLastModified(currency);
+        if (lastModified.isEmpty()) {
+            return body.map(value -> ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(value));
+        }
+        long lastModifiedMillis = exchangeRateVersionService.toEpochMilli(lastModified.get());
+        String etag = exchangeRateVersionService.getEtag(currency, lastModified.get());
+        CacheControl cacheControl = CacheControl
+                .maxAge(exchangeRateVersionService.getTimeToLive(lastModified.get()))
+                .cachePublic();
+        if (exchange.checkNotModified(etag, Instant.ofEpochMilli(lastModifiedMillis))) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .build());
+        }
+        return body.map(value -> ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModifiedMillis)
+                .cacheControl(cacheControl)
+                .body(value));
+    }
+}
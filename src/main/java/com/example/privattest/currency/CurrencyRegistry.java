@@ -0,0 +1,22 @@
+package com.example.privattest.currency;
+
+import com.example.privattest.model.Currency;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Registry of the ISO 4217 currencies known to the application, looked up in constant time
+ * by the alphabetic or numeric code.
+ */
+public interface CurrencyRegistry {
+    Optional<Currency> findByAlphaCode(String alphaCode);
+
+    Optional<Currency> findByNumericCode(int numericCode);
+
+    /**
+     * Returns all registered currencies.
+     *
+     * @return the currencies, ordered by the alphabetic code, which is also their index
+     */
+    List<Currency> getAll();
+}
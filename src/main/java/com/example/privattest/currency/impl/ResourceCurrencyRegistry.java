@@ -0,0 +1,153 @@
+package com.example.privattest.currency.impl;
+
+import com.example.privattest.currency.CurrencyRegistry;
+import com.example.privattest.model.Currency;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+/**
+ * {@link CurrencyRegistry} loaded from a CSV resource with a
+ * {@code alphaCode,numericCode,minorUnits} line per currency ({@code #} starts a comment).
+ *
+ * <p>Lookups index arrays instead of hashing: the numeric code (0-999) is the index
+ * of one array, and the three letters of the alphabetic code read as a base-26 number
+ * are the index of another. The registry fails to load if a line is malformed
+ * or a currency is defined twice.</p>
+ *
+ * <p>The registry backing the lookups of {@link Currency} is read once, from the location
+ * in the {@value #LOCATION_PROPERTY} system property ({@code classpath:} or {@code file:}),
+ * or from the bundled {@value #DEFAULT_LOCATION}.</p>
+ */
+@Slf4j
+public class ResourceCurrencyRegistry implements CurrencyRegistry {
+    public static final String LOCATION_PROPERTY = "currency.registry";
+    public static final String DEFAULT_LOCATION = "classpath:currencies.csv";
+
+    private static final int MAX_NUMERIC_CODE = 999;
+    private static final int LETTERS = 26;
+    private static final int ALPHA_CODE_LENGTH = 3;
+    private static final int FIELDS = 3;
+    private static final int MAX_MINOR_UNITS = 9;
+
+    private final Currency[] byNumericCode = new Currency[MAX_NUMERIC_CODE + 1];
+    private final Currency[] byAlphaCode = new Currency[LETTERS * LETTERS * LETTERS];
+    private final List<Currency> currencies;
+
+    public ResourceCurrencyRegistry(Resource resource) {
+        List<String[]> definitions = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    definitions.add(parse(line, resource, lineNumber));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't read currency registry " + resource, e);
+        }
+        definitions.sort(Comparator.comparing(fields -> fields[0]));
+
+        List<Currency> loaded = new ArrayList<>(definitions.size());
+        for (String[] fields : definitions) {
+            Currency currency = new Currency(fields[0], Integer.parseInt(fields[1]),
+                    Integer.parseInt(fields[2]), loaded.size());
+            int alphaIndex = alphaIndex(currency.getAlphaCode());
+            if (byAlphaCode[alphaIndex] != null
+                    || byNumericCode[currency.getIntegerNumericCode()] != null) {
+                throw new IllegalStateException(String.format(
+                        "Currency %s (%s) is defined twice in registry %s",
+                        currency, currency.getNumericCode(), resource));
+            }
+            byAlphaCode[alphaIndex] = currency;
+            byNumericCode[currency.getIntegerNumericCode()] = currency;
+            loaded.add(currency);
+        }
+        this.currencies = List.copyOf(loaded);
+        log.info("Loaded {} currencies from {}", currencies.size(), resource);
+    }
+
+    /**
+     * Loads the registry from the configured location.
+     *
+     * @return the registry
+     */
+    public static CurrencyRegistry fromSystemProperty() {
+        return new ResourceCurrencyRegistry(new DefaultResourceLoader().getResource(
+                System.getProperty(LOCATION_PROPERTY, DEFAULT_LOCATION)));
+    }
+
+    @Override
+    public Optional<Currency> findByAlphaCode(String alphaCode) {
+        int index = alphaCode == null ? -1 : alphaIndex(alphaCode);
+        return index < 0 ? Optional.empty() : Optional.ofNullable(byAlphaCode[index]);
+    }
+
+    @Override
+    public Optional<Currency> findByNumericCode(int numericCode) {
+        return numericCode < 0 || numericCode > MAX_NUMERIC_CODE
+                ? Optional.empty()
+                : Optional.ofNullable(byNumericCode[numericCode]);
+    }
+
+    @Override
+    public List<Currency> getAll() {
+        return currencies;
+    }
+
+    private static String[] parse(String line, Resource resource, int lineNumber) {
+        String[] fields = line.split(",");
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fields[i].strip();
+            }
+            int numericCode = Integer.parseInt(fields[1]);
+            int minorUnits = Integer.parseInt(fields[2]);
+            if (fields.length == FIELDS
+                    && fields[0].equals(fields[0].toUpperCase(Locale.ROOT))
+                    && alphaIndex(fields[0]) >= 0
+                    && numericCode >= 0 && numericCode <= MAX_NUMERIC_CODE
+                    && minorUnits >= 0 && minorUnits <= MAX_MINOR_UNITS) {
+                return fields;
+            }
+        } catch (RuntimeException e) {
+            // Reported below along with the other malformed lines
+        }
+        throw new IllegalStateException(String.format(
+                "Malformed currency at line %d of %s: %s", lineNumber, resource, line));
+    }
+
+    /**
+     * Reads a three-letter code as a base-26 number.
+     *
+     * @return the number, or -1 if the code isn't three Latin letters
+     */
+    private static int alphaIndex(String alphaCode) {
+        if (alphaCode.length() != ALPHA_CODE_LENGTH) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < ALPHA_CODE_LENGTH; i++) {
+            int letter = Character.toUpperCase(alphaCode.charAt(i)) - 'A';
+            if (letter < 0 || letter >= LETTERS) {
+                return -1;
+            }
+            index = index * LETTERS + letter;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.privattest.dto;
+
+import com.example.privattest.model.Currency;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ConversionDto(
+        Currency from,
+        Currency to,
+        BigDecimal amount,
+        BigDecimal convertedAmount,
+        LocalDateTime rateTimestamp
+) {
+}
@@ -0,0 +1,14 @@
+package com.example.privattest.dto;
+
+import com.example.privattest.model.Currency;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ConversionRequestDto(
+        @NotNull Currency from,
+        @NotNull Currency to,
+        @NotNull BigDecimal amount,
+        LocalDateTime time
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.privattest.dto;
+
+import com.example.privattest.model.Currency;
+
+public record CurrencySnapshotDto(
+        Currency currency,
+        ExchangeRateDto latestRate,
+        DynamicDetailsDto hourlyDynamics
+) {
+}
@@ -1,6 +1,7 @@
 package com.example.privattest.dto;
 
 import com.example.privattest.model.Currency;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -10,5 +11,5 @@ public record DynamicDetailsDto(
         LocalDateTime oldRateTimestamp,
         BigDecimal percentageChangeSell,
         LocalDateTime newRateTimestamp
-) {
+) implements Serializable {
 }
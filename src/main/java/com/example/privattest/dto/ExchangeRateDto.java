@@ -1,6 +1,7 @@
 package com.example.privattest.dto;
 
 import com.example.privattest.model.Currency;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -9,5 +10,5 @@ public record ExchangeRateDto(
         BigDecimal rateBuy,
         BigDecimal rateSell,
         LocalDateTime timestamp
-) {
+) implements Serializable {
 }
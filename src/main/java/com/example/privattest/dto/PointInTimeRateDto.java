@@ -0,0 +1,9 @@
+package com.example.privattest.dto;
+
+import java.time.LocalDateTime;
+
+public record PointInTimeRateDto(
+        LocalDateTime time,
+        ExchangeRateDto rate
+) {
+}
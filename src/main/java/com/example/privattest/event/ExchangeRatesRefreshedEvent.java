@@ -0,0 +1,13 @@
+package com.example.privattest.event;
+
+import com.example.privattest.model.Currency;
+import java.util.List;
+
+/**
+ * Published once the cached exchange rate data of the currencies has been recalculated,
+ * on startup and after every ingestion.
+ *
+ * @param currencies the currencies whose data was refreshed
+ */
+public record ExchangeRatesRefreshedEvent(List<Currency> currencies) {
+}
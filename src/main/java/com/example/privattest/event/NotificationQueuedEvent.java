@@ -0,0 +1,10 @@
+package com.example.privattest.event;
+
+/**
+ * Published when a notification has been queued in the outbox, in the transaction
+ * that queued it.
+ *
+ * @param notificationId the id of the queued notification
+ */
+public record NotificationQueuedEvent(long notificationId) {
+}
@@ -0,0 +1,46 @@
+package com.example.privattest.exception;
+
+import com.example.privattest.dto.ErrorResponseDto;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * WebFlux counterpart of {@link GlobalExceptionHandler}, returning the same error responses
+ * when the application runs as a reactive web application.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Slf4j
+public class ReactiveExceptionHandler {
+    @ExceptionHandler(CurrencyDataNotFoundException.class)
+    public ResponseEntity<ErrorResponseDto> handleCurrencyDataNotFoundException(
+            CurrencyDataNotFoundException ex) {
+        log.warn("Currency data not found: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ErrorResponseDto(1, ex.getMessage()));
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponseDto> handleConstraintViolationException(
+            ConstraintViolationException ex) {
+        log.warn("User input validation error: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponseDto(1, ex.getMessage()));
+    }
+
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ResponseEntity<ErrorResponseDto> handleInvalidRequestParameterException(
+            InvalidRequestParameterException ex) {
+        log.warn("Invalid request parameter: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponseDto(1, ex.getMessage()));
+    }
+}
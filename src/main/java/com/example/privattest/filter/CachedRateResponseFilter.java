@@ -0,0 +1,164 @@
+package com.example.privattest.filter;
+
+import com.example.privattest.config.MessagePackHttpMessageConverter;
+import com.example.privattest.model.CachedRateResponse;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.RateEndpoint;
+import com.example.privattest.service.ExchangeRateVersionService;
+import com.example.privattest.service.RateResponseCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Serves the rate endpoints from the {@link RateResponseCache}, writing the bytes serialized
+ * at the last ingestion without going through the controller and Jackson.
+ *
+ * <p>Only requests that accept JSON are served: with no {@code Accept}, or one allowing
+ * {@code application/json} (directly or by a wildcard) and no binary format. The other
+ * requests, and the ones without a cached response (unknown or invalid currency, no data),
+ * continue down the chain and are handled by the controller as usual.</p>
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class CachedRateResponseFilter extends OncePerRequestFilter {
+    private static final String CURRENCY_PARAMETER = "currency";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final String X_GZIP_ENCODING = "x-gzip";
+    private static final String ANY_ENCODING = "*";
+    private static final String QUALITY_PARAMETER = "q=";
+    private static final List<MediaType> BINARY_MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_CBOR,
+            MessagePackHttpMessageConverter.APPLICATION_MSGPACK
+    );
+
+    private final RateResponseCache rateResponseCache;
+    private final ExchangeRateVersionService exchangeRateVersionService;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || RateEndpoint.fromPath(request.getRequestURI()) == null
+                || !acceptsOnlyJson(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        Currency currency = Currency.fromAlphaCode(request.getParameter(CURRENCY_PARAMETER));
+        CachedRateResponse cached = currency == null ? null : rateResponseCache.get(
+                RateEndpoint.fromPath(request.getRequestURI()), currency);
+        if (cached == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl
+                .maxAge(exchangeRateVersionService.getTimeToLive(cached.lastModified()))
+                .cachePublic()
+                .getHeaderValue());
+        response.setHeader(HttpHeaders.VARY,
+                HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        // Sets ETag and Last-Modified, and 304 if the client has the current version
+        if (new ServletWebRequest(request, response)
+                .checkNotModified(cached.etag(), cached.lastModifiedMillis())) {
+            return;
+        }
+        byte[] body = cached.body();
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            body = cached.gzippedBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Checks whether the {@code Accept-Encoding} header allows gzip. A {@code gzip}
+     * (or {@code x-gzip}) coding takes precedence over {@code *}, and a coding with
+     * {@code q=0} or a malformed quality value is not acceptable.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzipQuality = -1;
+        double anyQuality = 0;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].strip().toLowerCase(Locale.ROOT);
+            if (name.equals(GZIP_ENCODING) || name.equals(X_GZIP_ENCODING)) {
+                gzipQuality = Math.max(gzipQuality, quality(parameters));
+            } else if (name.equals(ANY_ENCODING)) {
+                anyQuality = quality(parameters);
+            }
+        }
+        return gzipQuality < 0 ? anyQuality > 0 : gzipQuality > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].strip();
+            if (parameter.regionMatches(true, 0, QUALITY_PARAMETER, 0,
+                    QUALITY_PARAMETER.length())) {
+                try {
+                    double quality = Double.parseDouble(
+                            parameter.substring(QUALITY_PARAMETER.length()).strip());
+                    return quality >= 0 && quality <= 1 ? quality : 0;
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Checks whether the {@code Accept} header allows JSON and no binary format, which
+     * the controller would have to choose between. {@code application/json;q=0} excludes
+     * JSON even if a wildcard allows it.
+     */
+    private static boolean acceptsOnlyJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            // Left to the controller, which rejects it as usual
+            return false;
+        }
+        boolean json = false;
+        for (MediaType type : mediaTypes) {
+            if (BINARY_MEDIA_TYPES.stream().anyMatch(type::equalsTypeAndSubtype)) {
+                return false;
+            }
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)
+                    && type.getQualityValue() == 0) {
+                return false;
+            }
+            json |= type.includes(MediaType.APPLICATION_JSON) && type.getQualityValue() > 0;
+        }
+        return json;
+    }
+}
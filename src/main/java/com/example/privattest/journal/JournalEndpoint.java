@@ -0,0 +1,61 @@
+package com.example.privattest.journal;
+
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.service.JournalReplayService;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint rebuilding the stored exchange rates from the {@link RateJournal},
+ * e.g. after the rows of a period were lost or corrupted. It isn't exposed by default,
+ * an operator adds {@code journal} to {@code management.endpoints.web.exposure.include}
+ * and calls {@code POST /actuator/journal} with a body like
+ * {@code {"from": "2024-12-07T00:00:00", "to": "2024-12-07T23:59:59"}}.
+ *
+ * <p>The store and the caches of this instance are refreshed; other instances see
+ * the rebuilt rates once their caches expire, and in their stores after a restart.</p>
+ */
+@Component
+@Endpoint(id = "journal")
+@RequiredArgsConstructor
+@Slf4j
+public class JournalEndpoint {
+    private final JournalReplayService journalReplayService;
+    private final ExchangeRateService exchangeRateService;
+
+    /**
+     * Rebuilds the rates of the updates journaled in the period.
+     *
+     * @param from the beginning of the period, ISO-8601 local date and time, inclusive
+     * @param to   the end of the period, ISO-8601 local date and time, inclusive
+     * @return the number of exchange rates saved
+     */
+    @WriteOperation
+    public int rebuild(String from, String to) {
+        LocalDateTime startTime = parse(from);
+        LocalDateTime endTime = parse(to);
+        if (endTime.isBefore(startTime)) {
+            throw new InvalidEndpointRequestException(
+                    "The end of the period is before its beginning", "Invalid period");
+        }
+        log.info("Rebuilding exchange rates of period {} - {} requested", startTime, endTime);
+        int saved = journalReplayService.rebuildExchangeRates(startTime, endTime);
+        exchangeRateService.refreshCaches();
+        return saved;
+    }
+
+    private LocalDateTime parse(String time) {
+        try {
+            return LocalDateTime.parse(time);
+        } catch (DateTimeParseException e) {
+            throw new InvalidEndpointRequestException(
+                    "Invalid date and time " + time, "Invalid period");
+        }
+    }
+}
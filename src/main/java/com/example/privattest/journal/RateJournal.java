@@ -0,0 +1,27 @@
+package com.example.privattest.journal;
+
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of the raw quotes received from the banks.
+ * Only averaged rates are stored in the database, the journal keeps everything
+ * that was used to calculate them, so the averages (or any other derived data)
+ * can be rebuilt later without refetching.
+ */
+public interface RateJournal {
+    /**
+     * Appends a batch of raw quotes to the end of the journal.
+     *
+     * @param entry the batch to append
+     */
+    void append(RateJournalEntry entry);
+
+    /**
+     * Reads the whole journal from the oldest entry to the newest one.
+     * Entries that fail the checksum validation are skipped together with the rest
+     * of their segment.
+     *
+     * @param consumer the callback receiving every valid {@link RateJournalEntry}
+     */
+    void replay(Consumer<RateJournalEntry> consumer);
+}
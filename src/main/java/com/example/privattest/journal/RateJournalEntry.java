@@ -0,0 +1,19 @@
+package com.example.privattest.journal;
+
+import com.example.privattest.model.ExchangeRate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A single batch of raw quotes returned by one bank during one ingestion tick.
+ *
+ * @param source    the name of the bank the quotes were fetched from
+ * @param fetchedAt the time of the ingestion tick, shared by all banks polled in that tick
+ * @param quotes    the raw (not averaged) quotes of the bank
+ */
+public record RateJournalEntry(
+        String source,
+        LocalDateTime fetchedAt,
+        List<ExchangeRate> quotes
+) {
+}
@@ -0,0 +1,264 @@
+package com.example.privattest.journal.impl;
+
+import com.example.privattest.journal.RateJournal;
+import com.example.privattest.journal.RateJournalEntry;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * {@link RateJournal} implementation writing entries into fixed-size memory-mapped
+ * segment files.
+ *
+ * <p>Every record is laid out as {@code [length:int][crc32:int][payload]}, where the payload is
+ * {@code [fetchedAt:long][sourceLength:byte][source][quoteCount:short]} followed by
+ * {@code [currency:short][buyUnscaled:long][buyScale:byte][sellUnscaled:long][sellScale:byte]}
+ * per quote. The length is written last, so a record torn by a crash reads as the end
+ * of the segment. When the current segment has no room for a record, it is flushed
+ * and the next one is created.</p>
+ *
+ * <p>Writes are serialized by a {@link ReentrantLock} rather than {@code synchronized},
+ * so a virtual thread flushing a segment doesn't pin its carrier thread.</p>
+ */
+@Component
+@Slf4j
+public class MappedRateJournal implements RateJournal {
+    private static final String SEGMENT_PREFIX = "rates-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+    private static final int QUOTE_SIZE = Short.BYTES + (Long.BYTES + Byte.BYTES) * 2;
+    private static final int MAX_SOURCE_LENGTH = 255;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+
+    @Value("${journal.directory}")
+    private String directory;
+
+    @Value("${journal.segment-size}")
+    private DataSize segmentSize;
+
+    @Override
+    public void append(RateJournalEntry entry) {
+        lock.lock();
+        try {
+            write(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void replay(Consumer<RateJournalEntry> consumer) {
+        for (Path path : listSegments()) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                RateJournalEntry entry;
+                while ((entry = readRecord(buffer, new CRC32())) != null) {
+                    consumer.accept(entry);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Couldn't read journal segment " + path, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (segment != null) {
+                segment.force();
+                segment = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(RateJournalEntry entry) {
+        byte[] source = entry.source().getBytes(StandardCharsets.UTF_8);
+        if (source.length > MAX_SOURCE_LENGTH) {
+            throw new IllegalArgumentException("Journal source name is too long: "
+                    + entry.source());
+        }
+        int payloadSize = Long.BYTES + Byte.BYTES + source.length + Short.BYTES
+                + entry.quotes().size() * QUOTE_SIZE;
+        int recordSize = RECORD_HEADER_SIZE + payloadSize;
+        if (recordSize > segmentSize.toBytes()) {
+            throw new IllegalArgumentException(String.format(
+                    "Journal record of %d bytes doesn't fit into a segment of %s",
+                    recordSize, segmentSize));
+        }
+        if (segment == null) {
+            openLastSegment();
+        }
+        if (segment.remaining() < recordSize) {
+            segment.force();
+            openSegment(segmentIndex + 1);
+        }
+
+        int start = segment.position();
+        try {
+            segment.position(start + RECORD_HEADER_SIZE);
+            segment.putLong(entry.fetchedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+            segment.put((byte) source.length);
+            segment.put(source);
+            segment.putShort((short) entry.quotes().size());
+            for (ExchangeRate quote : entry.quotes()) {
+                segment.putShort((short) quote.getCurrency().getIntegerNumericCode());
+                putDecimal(segment, quote.getRateBuy());
+                putDecimal(segment, quote.getRateSell());
+            }
+        } catch (RuntimeException e) {
+            // The length is still zero, so the partially written record will be overwritten
+            segment.position(start);
+            throw e;
+        }
+
+        crc.reset();
+        crc.update(segment.slice(start + RECORD_HEADER_SIZE, payloadSize));
+        segment.putInt(start + Integer.BYTES, (int) crc.getValue());
+        // The length goes last: until it is written the record is invisible to readers
+        segment.putInt(start, payloadSize);
+    }
+
+    /**
+     * Opens the newest segment and moves the write position right after its last valid record.
+     * Anything behind that position (a torn or corrupted record) is zeroed,
+     * so it can't be mistaken for data later.
+     */
+    private void openLastSegment() {
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            openSegment(1);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        String name = last.getFileName().toString();
+        openSegment(Integer.parseInt(name.substring(
+                SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+
+        CRC32 recoveryCrc = new CRC32();
+        while (readRecord(segment, recoveryCrc) != null) {
+            // Skip valid records to find the end of the segment
+        }
+        int end = segment.position();
+        for (int i = end; i < segment.limit(); i++) {
+            segment.put(i, (byte) 0);
+        }
+        log.info("Journal segment {} opened for appending at position {}", last, end);
+    }
+
+    private void openSegment(int index) {
+        Path path = Path.of(directory, String.format("%s%08d%s",
+                SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        try {
+            Files.createDirectories(path.getParent());
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize.toBytes());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't open journal segment " + path, e);
+        }
+        segmentIndex = index;
+        log.debug("Journal segment {} mapped", path);
+    }
+
+    private List<Path> listSegments() {
+        Path root = Path.of(directory);
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(root)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't list journal directory " + root, e);
+        }
+    }
+
+    /**
+     * Reads the record at the current position of the buffer.
+     *
+     * @param buffer the segment to read from
+     * @param crc    the checksum calculator to reuse
+     * @return the decoded entry, or {@code null} if the end of the segment (or a torn
+     * or corrupted record) is reached; in this case the position is left unchanged
+     */
+    private RateJournalEntry readRecord(ByteBuffer buffer, CRC32 crc) {
+        int start = buffer.position();
+        if (buffer.remaining() < RECORD_HEADER_SIZE) {
+            return null;
+        }
+        int payloadSize = buffer.getInt(start);
+        if (payloadSize <= 0 || payloadSize > buffer.remaining() - RECORD_HEADER_SIZE) {
+            return null;
+        }
+        crc.reset();
+        crc.update(buffer.slice(start + RECORD_HEADER_SIZE, payloadSize));
+        if ((int) crc.getValue() != buffer.getInt(start + Integer.BYTES)) {
+            log.warn("Journal record at position {} is corrupted, skipping the rest of segment",
+                    start);
+            return null;
+        }
+
+        buffer.position(start + RECORD_HEADER_SIZE);
+        LocalDateTime fetchedAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC);
+        byte[] source = new byte[Byte.toUnsignedInt(buffer.get())];
+        buffer.get(source);
+        int quoteCount = Short.toUnsignedInt(buffer.getShort());
+        List<ExchangeRate> quotes = new ArrayList<>(quoteCount);
+        for (int i = 0; i < quoteCount; i++) {
+            ExchangeRate quote = new ExchangeRate();
+            quote.setCurrency(Currency.fromCode((int) buffer.getShort()));
+            quote.setRateBuy(getDecimal(buffer));
+            quote.setRateSell(getDecimal(buffer));
+            quote.setTimestamp(fetchedAt);
+            quotes.add(quote);
+        }
+        return new RateJournalEntry(new String(source, StandardCharsets.UTF_8), fetchedAt, quotes);
+    }
+
+    private void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        buffer.putLong(value.unscaledValue().longValueExact());
+        buffer.put((byte) value.scale());
+    }
+
+    private BigDecimal getDecimal(ByteBuffer buffer) {
+        long unscaled = buffer.getLong();
+        return BigDecimal.valueOf(unscaled, buffer.get());
+    }
+}
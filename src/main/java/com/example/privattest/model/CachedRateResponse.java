@@ -0,0 +1,22 @@
+package com.example.privattest.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response of a rate endpoint serialized in advance. The arrays are never modified
+ * after creation and are written to responses as they are.
+ *
+ * @param body               the JSON body
+ * @param gzippedBody        the same body compressed with gzip
+ * @param etag               the entity tag of the version the body was produced for
+ * @param lastModified       the time of the latest rate
+ * @param lastModifiedMillis the same time in epoch milliseconds
+ */
+public record CachedRateResponse(
+        byte[] body,
+        byte[] gzippedBody,
+        String etag,
+        LocalDateTime lastModified,
+        long lastModifiedMillis
+) {
+}
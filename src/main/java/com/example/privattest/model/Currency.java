@@ -1,39 +1,130 @@
 package com.example.privattest.model;
 
+import com.example.privattest.currency.CurrencyRegistry;
+import com.example.privattest.currency.impl.ResourceCurrencyRegistry;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * ISO 4217 currency of the {@link CurrencyRegistry}. Every currency the registry defines
+ * can be fetched from the banks, stored and served; which of them are tracked is configured
+ * by {@code exchange-rate.tracked-currencies}.
+ *
+ * <p>There is a single instance per currency, so currencies are compared by identity.
+ * The {@link #getIndex() index} is the position of the currency in the registry, so arrays
+ * of {@link #values()} length can be indexed by it.</p>
+ */
 @Getter
 @Slf4j
-public enum Currency {
-    USD("840"),
-    EUR("978"),
-    UAH("980");
+@Schema(type = "string", description = "ISO 4217 alphabetic code", example = "USD")
+public final class Currency implements Serializable {
+    public static final Currency USD = valueOf("USD");
+    public static final Currency EUR = valueOf("EUR");
+    /**
+     * Currency the banks quote the others against.
+     */
+    public static final Currency UAH = valueOf("UAH");
 
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String alphaCode;
     private final String numericCode;
+    private final int integerNumericCode;
+    private final int minorUnits;
+    private final int index;
+
+    /**
+     * Creates a currency of a registry. The other code looks currencies up instead.
+     *
+     * @param alphaCode   the alphabetic code, e.g. {@code USD}
+     * @param numericCode the numeric code, e.g. {@code 840}
+     * @param minorUnits  the number of digits after the decimal separator, e.g. {@code 2}
+     * @param index       the position of the currency in its registry
+     */
+    public Currency(String alphaCode, int numericCode, int minorUnits, int index) {
+        this.alphaCode = alphaCode;
+        this.numericCode = String.format("%03d", numericCode);
+        this.integerNumericCode = numericCode;
+        this.minorUnits = minorUnits;
+        this.index = index;
+    }
 
-    Currency(String numericCode) {
-        this.numericCode = numericCode;
+    /**
+     * Returns the currency with the given alphabetic code.
+     *
+     * @param alphaCode the alphabetic code, e.g. {@code USD}
+     * @return the currency
+     * @throws IllegalArgumentException if the registry has no such currency
+     */
+    public static Currency valueOf(String alphaCode) {
+        return Registry.INSTANCE.findByAlphaCode(alphaCode).orElseThrow(() ->
+                new IllegalArgumentException("Unknown currency: " + alphaCode));
     }
 
-    public Integer getIntegerNumericCode() {
-        return Integer.parseInt(numericCode);
+    /**
+     * Returns the currency with the given alphabetic code, e.g. of a bank response.
+     *
+     * @param alphaCode the alphabetic code, e.g. {@code USD}
+     * @return the currency, or {@code null} if the registry has no such currency
+     */
+    @JsonCreator
+    public static Currency fromAlphaCode(String alphaCode) {
+        Currency currency = Registry.INSTANCE.findByAlphaCode(alphaCode).orElse(null);
+        if (currency == null) {
+            log.debug("No currency found for alphabetic code: {}", alphaCode);
+        }
+        return currency;
     }
 
     /**
-     * Converts a numeric currency code to a corresponding {@link Currency} enumeration value.
+     * Converts a numeric currency code to the corresponding {@link Currency}.
      *
      * @param code the numeric code of the currency (e.g., 840 for USD, 978 for EUR)
-     * @return the {@link Currency} enumeration value corresponding to the provided code,
+     * @return the {@link Currency} corresponding to the provided code,
      * or {@code null} if no matching currency is found
      */
     public static Currency fromCode(Integer code) {
-        for (Currency currency : values()) {
-            if (currency.getNumericCode().equalsIgnoreCase(code.toString())) {
-                return currency;
-            }
+        Currency currency = code == null
+                ? null
+                : Registry.INSTANCE.findByNumericCode(code).orElse(null);
+        if (currency == null) {
+            log.debug("No currency found for code: {}", code);
         }
-        log.debug("No currency found for code: " + code);
-        return null;
+        return currency;
+    }
+
+    /**
+     * Returns all currencies of the registry.
+     *
+     * @return the currencies, each at the position of its {@link #getIndex() index}
+     */
+    public static List<Currency> values() {
+        return Registry.INSTANCE.getAll();
+    }
+
+    @JsonValue
+    @Override
+    public String toString() {
+        return alphaCode;
+    }
+
+    @Serial
+    private Object readResolve() {
+        return valueOf(alphaCode);
+    }
+
+    /**
+     * Holds the registry, so it's loaded before the constants above look it up.
+     */
+    private static final class Registry {
+        private static final CurrencyRegistry INSTANCE =
+                ResourceCurrencyRegistry.fromSystemProperty();
     }
 }
@@ -0,0 +1,20 @@
+package com.example.privattest.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link Currency} by its alphabetic code, as the enum it replaced was stored.
+ */
+@Converter(autoApply = true)
+public class CurrencyConverter implements AttributeConverter<Currency, String> {
+    @Override
+    public String convertToDatabaseColumn(Currency currency) {
+        return currency == null ? null : currency.getAlphaCode();
+    }
+
+    @Override
+    public Currency convertToEntityAttribute(String alphaCode) {
+        return alphaCode == null ? null : Currency.valueOf(alphaCode);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.privattest.model;
+
+import lombok.Getter;
+
+/**
+ * Read endpoints whose responses depend only on the currency and the latest ingested rate,
+ * so their bodies can be serialized once per ingestion.
+ */
+@Getter
+public enum RateEndpoint {
+    LATEST("/api/exchange-rate/latest"),
+    HOURLY_DIFFERENCE("/api/exchange-rate/hourly-difference"),
+    DAILY_DYNAMICS("/api/exchange-rate/daily-dynamics");
+
+    private final String path;
+
+    RateEndpoint(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Finds the endpoint served at the given path.
+     *
+     * @param path the request path
+     * @return the endpoint, or {@code null} if the path isn't one of the rate endpoints
+     */
+    public static RateEndpoint fromPath(String path) {
+        for (RateEndpoint endpoint : values()) {
+            if (endpoint.path.equals(path)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+}
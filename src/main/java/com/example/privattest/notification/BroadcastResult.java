@@ -0,0 +1,23 @@
+package com.example.privattest.notification;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of the broadcast of a message. A chat is in neither list if the broadcast
+ * was interrupted before its message was sent.
+ *
+ * @param deliveredChatIds the chats the message was delivered to
+ * @param failedChatIds    the chats the message couldn't be delivered to
+ * @param elapsed          the time the broadcast took
+ */
+public record BroadcastResult(List<Long> deliveredChatIds, List<Long> failedChatIds,
+                              Duration elapsed) {
+    public int delivered() {
+        return deliveredChatIds.size();
+    }
+
+    public int failed() {
+        return failedChatIds.size();
+    }
+}
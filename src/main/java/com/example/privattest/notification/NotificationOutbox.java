@@ -0,0 +1,52 @@
+package com.example.privattest.notification;
+
+import java.util.List;
+
+/**
+ * Durable queue of the messages to be sent to every user of the bot, with
+ * the delivery status of each chat.
+ *
+ * <p>A message is queued in the transaction of the data it is about, so it is sent
+ * if and only if that data is committed. Any number of instances may drain the outbox
+ * at once: a delivery is claimed by one of them at a time, and is claimed again
+ * if its instance doesn't complete it within the lease.</p>
+ */
+public interface NotificationOutbox {
+    /**
+     * Queues the message for every current user of the bot in the transaction
+     * of the caller.
+     *
+     * @param text the text of the message
+     * @return the id of the queued notification
+     */
+    long enqueue(String text);
+
+    /**
+     * Claims the oldest pending deliveries, skipping the ones claimed by other instances.
+     *
+     * @param batchSize the maximum number of deliveries to claim
+     * @return the claimed deliveries, ordered by notification; empty if there are none
+     */
+    List<OutboxDelivery> claim(int batchSize);
+
+    /**
+     * Extends the lease of the claimed deliveries of a notification right before they
+     * are sent, so a batch whose broadcast takes long isn't claimed again meanwhile.
+     *
+     * @param notificationId the id of the notification
+     * @param chatIds        the chats of the claimed deliveries
+     * @return the chats whose deliveries are still claimed by this instance; the others
+     * were claimed again by another instance after the lease expired
+     */
+    List<Long> extendLease(long notificationId, List<Long> chatIds);
+
+    /**
+     * Records the outcome of the claimed deliveries of a notification. Deliveries
+     * reported in neither list stay claimed until the lease expires.
+     *
+     * @param notificationId   the id of the notification
+     * @param deliveredChatIds the chats the message was delivered to
+     * @param failedChatIds    the chats the message couldn't be delivered to
+     */
+    void complete(long notificationId, List<Long> deliveredChatIds, List<Long> failedChatIds);
+}
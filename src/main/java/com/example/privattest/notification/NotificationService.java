@@ -11,6 +11,8 @@ import java.util.List;
 public interface NotificationService {
     /**
      * Sends notifications with the provided list of exchange rates.
+     * It is called in the transaction saving the rates, so the notifications
+     * may be queued durably together with them.
      *
      * @param exchangeRates a list of {@link ExchangeRate} objects representing
      *                      the current exchange rates
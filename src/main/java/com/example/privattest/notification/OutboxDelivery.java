@@ -0,0 +1,11 @@
+package com.example.privattest.notification;
+
+/**
+ * Message of the outbox claimed for delivery to one chat.
+ *
+ * @param notificationId the id of the queued notification
+ * @param chatId         the chat to send the message to
+ * @param text           the text of the message
+ */
+public record OutboxDelivery(long notificationId, long chatId, String text) {
+}
@@ -0,0 +1,168 @@
+package com.example.privattest.notification.impl;
+
+import com.example.privattest.config.NotificationOutboxProperties;
+import com.example.privattest.notification.NotificationOutbox;
+import com.example.privattest.notification.OutboxDelivery;
+import com.example.privattest.util.InstanceId;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link NotificationOutbox} keeping the messages in the {@code notification} table and
+ * the status of every chat in {@code notification_delivery}: {@code PENDING}, then
+ * {@code SENDING} while claimed, and finally {@code DELIVERED} or {@code FAILED}.
+ *
+ * <p>Deliveries are claimed with {@code FOR UPDATE SKIP LOCKED}, so concurrent claims
+ * of the instances never return the same row and never wait for each other. A claim lasts
+ * for the lease, which is extended before every notification of the batch is sent:
+ * the deliveries of an instance that crashed are claimed again once it expires, and are
+ * marked as failed after {@code max-attempts} claims. All times are taken from
+ * the database clock.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcNotificationOutbox implements NotificationOutbox {
+    private static final String INSERT_NOTIFICATION_SQL = """
+            insert into notification (text, created_at)
+            values (?, now())
+            returning id
+            """;
+    // The recipients are the users known when the rates are saved
+    private static final String INSERT_DELIVERIES_SQL = """
+            insert into notification_delivery
+                (notification_id, chat_id, status, attempts, updated_at)
+            select ?, chat_id, 'PENDING', 0, now()
+            from user_chat_id
+            """;
+    private static final String FAIL_EXHAUSTED_SQL = """
+            with exhausted as (
+                select notification_id, chat_id
+                from notification_delivery
+                where status = 'SENDING' and claimed_until <= now() and attempts >= ?
+                for update skip locked
+            )
+            update notification_delivery d
+            set status = 'FAILED', claimed_by = null, claimed_until = null, updated_at = now()
+            from exhausted e
+            where d.notification_id = e.notification_id and d.chat_id = e.chat_id
+            """;
+    // Pending deliveries and the ones whose lease expired are claimable
+    private static final String CLAIM_SQL = """
+            with claimable as (
+                select notification_id, chat_id
+                from notification_delivery
+                where (status = 'PENDING' or (status = 'SENDING' and claimed_until <= now()))
+                    and attempts < ?
+                order by notification_id, chat_id
+                limit ?
+                for update skip locked
+            ), claimed as (
+                update notification_delivery d
+                set status = 'SENDING',
+                    attempts = d.attempts + 1,
+                    claimed_by = ?,
+                    claimed_until = now() + make_interval(secs => ?),
+                    updated_at = now()
+                from claimable c
+                where d.notification_id = c.notification_id and d.chat_id = c.chat_id
+                returning d.notification_id, d.chat_id
+            )
+            select c.notification_id, c.chat_id, n.text
+            from claimed c
+            join notification n on n.id = c.notification_id
+            order by c.notification_id, c.chat_id
+            """;
+    // Only the instance holding the claim may extend or complete it
+    private static final String EXTEND_LEASE_SQL = """
+            update notification_delivery
+            set claimed_until = now() + make_interval(secs => ?), updated_at = now()
+            where notification_id = ? and chat_id = any(?)
+                and status = 'SENDING' and claimed_by = ?
+            returning chat_id
+            """;
+    private static final String COMPLETE_SQL = """
+            update notification_delivery
+            set status = ?, claimed_by = null, claimed_until = null, updated_at = now()
+            where notification_id = ? and chat_id = any(?)
+                and status = 'SENDING' and claimed_by = ?
+            """;
+    private static final String DELIVERED = "DELIVERED";
+    private static final String FAILED = "FAILED";
+    private static final double MILLIS_PER_SECOND = 1000.0;
+    private static final String INSTANCE_ID = InstanceId.get();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationOutboxProperties properties;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long enqueue(String text) {
+        Long notificationId = jdbcTemplate.queryForObject(
+                INSERT_NOTIFICATION_SQL, Long.class, text);
+        int recipients = jdbcTemplate.update(INSERT_DELIVERIES_SQL, notificationId);
+        log.info("Notification {} queued for {} chats", notificationId, recipients);
+        return notificationId;
+    }
+
+    @Override
+    public List<OutboxDelivery> claim(int batchSize) {
+        int failed = jdbcTemplate.update(FAIL_EXHAUSTED_SQL, properties.maxAttempts());
+        if (failed > 0) {
+            log.warn("{} notification deliveries failed after {} claims",
+                    failed, properties.maxAttempts());
+        }
+        List<OutboxDelivery> deliveries = jdbcTemplate.query(CLAIM_SQL,
+                (resultSet, rowNum) -> new OutboxDelivery(
+                        resultSet.getLong("notification_id"),
+                        resultSet.getLong("chat_id"),
+                        resultSet.getString("text")
+                ),
+                properties.maxAttempts(), batchSize, INSTANCE_ID, leaseSeconds());
+        log.debug("Instance {} claimed {} notification deliveries",
+                INSTANCE_ID, deliveries.size());
+        return deliveries;
+    }
+
+    @Override
+    public List<Long> extendLease(long notificationId, List<Long> chatIds) {
+        List<Long> claimedChatIds = jdbcTemplate.queryForList(EXTEND_LEASE_SQL, Long.class,
+                leaseSeconds(), notificationId, chatIds.toArray(Long[]::new), INSTANCE_ID);
+        if (claimedChatIds.size() < chatIds.size()) {
+            log.warn("{} deliveries of notification {} had been claimed by another instance "
+                    + "before instance {} sent them", chatIds.size() - claimedChatIds.size(),
+                    notificationId, INSTANCE_ID);
+        }
+        return claimedChatIds;
+    }
+
+    @Override
+    public void complete(long notificationId, List<Long> deliveredChatIds,
+                         List<Long> failedChatIds) {
+        int completed = update(notificationId, DELIVERED, deliveredChatIds)
+                + update(notificationId, FAILED, failedChatIds);
+        int reported = deliveredChatIds.size() + failedChatIds.size();
+        if (completed < reported) {
+            log.warn("{} deliveries of notification {} had been claimed by another instance "
+                    + "before instance {} completed them", reported - completed,
+                    notificationId, INSTANCE_ID);
+        }
+    }
+
+    private double leaseSeconds() {
+        return properties.lease().toMillis() / MILLIS_PER_SECOND;
+    }
+
+    private int update(long notificationId, String status, List<Long> chatIds) {
+        if (chatIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(COMPLETE_SQL, status, notificationId,
+                chatIds.toArray(Long[]::new), INSTANCE_ID);
+    }
+}
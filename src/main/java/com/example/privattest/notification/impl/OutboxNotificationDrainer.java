@@ -0,0 +1,133 @@
+package com.example.privattest.notification.impl;
+
+import com.example.privattest.config.NotificationOutboxProperties;
+import com.example.privattest.config.TelegramBroadcastProperties;
+import com.example.privattest.event.NotificationQueuedEvent;
+import com.example.privattest.notification.BroadcastResult;
+import com.example.privattest.notification.NotificationOutbox;
+import com.example.privattest.notification.OutboxDelivery;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends the notifications queued in the {@link NotificationOutbox}.
+ *
+ * <p>The outbox is drained batch by batch until no claimable delivery is left: the messages
+ * of a batch are broadcast by the {@link TelegramBroadcastDispatcher} and the outcome
+ * of every chat is recorded. A drain starts once a notification is committed, and
+ * periodically, which picks up the notifications queued by other instances and the
+ * deliveries left behind by crashed ones. Only one drain runs per instance; a request
+ * made while it runs makes it go over the outbox once more.</p>
+ *
+ * <p>The lease of the deliveries of each notification is extended right before they are
+ * sent, and the deliveries claimed by another instance meanwhile are skipped. A batch
+ * must be sendable within the lease at the bot's message rate, so the application
+ * doesn't start if the batch size and lease don't allow it.</p>
+ */
+@Component
+@Slf4j
+public class OutboxNotificationDrainer {
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private final NotificationOutbox notificationOutbox;
+    private final TelegramBroadcastDispatcher broadcastDispatcher;
+    private final NotificationOutboxProperties properties;
+    private final Executor taskExecutor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    public OutboxNotificationDrainer(
+            NotificationOutbox notificationOutbox,
+            TelegramBroadcastDispatcher broadcastDispatcher,
+            NotificationOutboxProperties properties,
+            TelegramBroadcastProperties broadcastProperties,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+            Executor taskExecutor) {
+        this.notificationOutbox = notificationOutbox;
+        this.broadcastDispatcher = broadcastDispatcher;
+        this.properties = properties;
+        this.taskExecutor = taskExecutor;
+        Duration batchDuration = Duration.ofMillis(Math.round(properties.batchSize()
+                * MILLIS_PER_SECOND / broadcastProperties.messagesPerSecond()));
+        if (batchDuration.compareTo(properties.lease()) >= 0) {
+            throw new IllegalStateException(String.format(
+                    "A batch of %d notifications takes %s at %s messages per second, "
+                            + "which is not shorter than the lease of %s",
+                    properties.batchSize(), batchDuration,
+                    broadcastProperties.messagesPerSecond(), properties.lease()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationQueued(NotificationQueuedEvent event) {
+        log.debug("Notification {} committed, draining the outbox", event.notificationId());
+        taskExecutor.execute(this::drain);
+    }
+
+    /**
+     * Submits a drain to the task executor. A drain is paced by the Bot API limits,
+     * so it mustn't hold the scheduler thread shared by the other scheduled tasks.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval}")
+    public void scheduleDrain() {
+        taskExecutor.execute(this::drain);
+    }
+
+    public void drain() {
+        drainRequested.set(true);
+        while (drainRequested.get() && draining.compareAndSet(false, true)) {
+            try {
+                drainRequested.set(false);
+                drainBatches();
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    private void drainBatches() {
+        try {
+            // An interrupted broadcast leaves the rest of its batch to be claimed again
+            while (!Thread.currentThread().isInterrupted()) {
+                List<OutboxDelivery> batch = notificationOutbox.claim(properties.batchSize());
+                if (batch.isEmpty()) {
+                    return;
+                }
+                sendBatch(batch);
+            }
+        } catch (Exception e) {
+            log.error("Error while draining the notification outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    private void sendBatch(List<OutboxDelivery> batch) {
+        Map<Long, List<OutboxDelivery>> byNotification = new LinkedHashMap<>();
+        batch.forEach(delivery -> byNotification
+                .computeIfAbsent(delivery.notificationId(), id -> new ArrayList<>())
+                .add(delivery));
+        byNotification.forEach((notificationId, deliveries) -> {
+            List<Long> chatIds = notificationOutbox.extendLease(notificationId,
+                    deliveries.stream().map(OutboxDelivery::chatId).toList());
+            if (chatIds.isEmpty()) {
+                return;
+            }
+            BroadcastResult result = broadcastDispatcher.broadcast(
+                    deliveries.get(0).text(), chatIds);
+            notificationOutbox.complete(notificationId,
+                    result.deliveredChatIds(), result.failedChatIds());
+            log.info("Notification {} sent to {} chats in {}, {} failed",
+                    notificationId, result.delivered(), result.elapsed(), result.failed());
+        });
+    }
+}
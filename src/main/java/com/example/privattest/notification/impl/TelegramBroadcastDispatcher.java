@@ -0,0 +1,254 @@
+package com.example.privattest.notification.impl;
+
+import com.example.privattest.config.TelegramBroadcastProperties;
+import com.example.privattest.notification.BroadcastResult;
+import com.example.privattest.ratelimit.TokenBucket;
+import com.example.privattest.util.TimeProvider;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.telegram.telegrambots.meta.api.objects.ApiResponse;
+
+/**
+ * Sends a message to many Telegram chats in parallel within the limits of the Bot API.
+ *
+ * <p>The calling thread schedules the messages, which are posted to the {@code sendMessage}
+ * method by the non-blocking {@link WebClient}, up to {@code max-in-flight} at once
+ * (the HTTP client of the bot library keeps only two connections to the API).
+ * A message is sent only when both the bucket of the bot (about 30 messages per second)
+ * and the bucket of its chat have a token, so the time of a broadcast is bounded by the limit
+ * rather than by the round-trips. The buckets are shared by concurrent broadcasts.</p>
+ *
+ * <p>A {@code 429 Too Many Requests} response pauses all sending for its {@code retry_after}
+ * and reschedules the message. Server and network errors, as well as responses that don't
+ * come within {@code request-timeout}, are retried after {@code retry-delay}; other errors
+ * (e.g. the user blocked the bot) fail the message at once.</p>
+ */
+@Component
+@Slf4j
+public class TelegramBroadcastDispatcher {
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+    private static final String SEND_MESSAGE_PATH = "/sendMessage";
+    private static final ParameterizedTypeReference<ApiResponse<Object>> RESPONSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final String sendMessageUrl;
+    private final TimeProvider timeProvider;
+    private final TelegramBroadcastProperties properties;
+    private final TokenBucket botBucket;
+    private final ConcurrentMap<Long, TokenBucket> chatBuckets = new ConcurrentHashMap<>();
+    /**
+     * {@link TimeProvider#nanoTime()} before which nothing is sent, set by a 429 response.
+     */
+    private final AtomicLong pausedUntil;
+
+    public TelegramBroadcastDispatcher(
+            WebClient webClient,
+            @Value("${telegram.bot.api-url}") String apiUrl,
+            @Value("${telegram.bot.token}") String botToken,
+            TimeProvider timeProvider,
+            TelegramBroadcastProperties properties) {
+        this.webClient = webClient;
+        this.sendMessageUrl = apiUrl + botToken + SEND_MESSAGE_PATH;
+        this.timeProvider = timeProvider;
+        this.properties = properties;
+        long now = timeProvider.nanoTime();
+        this.botBucket = new TokenBucket(Math.max(1, (long) properties.messagesPerSecond()),
+                properties.messagesPerSecond(), now);
+        this.pausedUntil = new AtomicLong(now);
+    }
+
+    /**
+     * Sends the message to every chat and waits until each one is delivered or given up.
+     *
+     * @param text    the text of the message
+     * @param chatIds the chats to send it to
+     * @return the chats the message was and wasn't delivered to
+     */
+    public BroadcastResult broadcast(String text, List<Long> chatIds) {
+        long startedAt = timeProvider.nanoTime();
+        Broadcast broadcast = new Broadcast(text, chatIds, startedAt);
+        try {
+            broadcast.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Broadcast interrupted, {} messages weren't sent",
+                    broadcast.scheduled.size());
+        }
+        long finishedAt = timeProvider.nanoTime();
+        chatBuckets.values().removeIf(bucket -> bucket.isFull(finishedAt));
+        return new BroadcastResult(broadcast.delivered, broadcast.failed,
+                Duration.ofNanos(finishedAt - startedAt));
+    }
+
+    private CompletableFuture<Outcome> send(String text, Delivery delivery) {
+        return webClient.post()
+                .uri(sendMessageUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("chat_id", delivery.chatId(), "text", text))
+                .exchangeToMono(response -> response.bodyToMono(RESPONSE_TYPE))
+                .timeout(properties.requestTimeout())
+                .toFuture()
+                .handle((response, error) -> {
+                    if (error != null || response == null) {
+                        return retryLater(delivery,
+                                error == null ? "empty response" : error.getMessage());
+                    }
+                    return toOutcome(delivery, response);
+                })
+                .exceptionally(error -> {
+                    log.error("Couldn't send the message to chat ID {}", delivery.chatId(), error);
+                    return new Outcome(delivery.chatId(), false, null);
+                });
+    }
+
+    private Outcome toOutcome(Delivery delivery, ApiResponse<Object> response) {
+        if (Boolean.TRUE.equals(response.getOk())) {
+            return new Outcome(delivery.chatId(), true, null);
+        }
+        Integer errorCode = response.getErrorCode();
+        if (errorCode != null && errorCode == TOO_MANY_REQUESTS) {
+            long retryAfterSeconds = response.getParameters() == null
+                    || response.getParameters().getRetryAfter() == null
+                    ? DEFAULT_RETRY_AFTER_SECONDS
+                    : response.getParameters().getRetryAfter();
+            long retryAt = timeProvider.nanoTime() + TimeUnit.SECONDS.toNanos(retryAfterSeconds);
+            pausedUntil.accumulateAndGet(retryAt, Math::max);
+            log.warn("Telegram asked to retry after {}s, pausing the broadcast",
+                    retryAfterSeconds);
+            return retry(delivery, retryAt);
+        }
+        if (errorCode == null || errorCode >= SERVER_ERROR) {
+            return retryLater(delivery, response.getErrorDescription());
+        }
+        log.info("Couldn't send the message to chat ID {}: {}",
+                delivery.chatId(), response.getErrorDescription());
+        return new Outcome(delivery.chatId(), false, null);
+    }
+
+    private Outcome retryLater(Delivery delivery, String error) {
+        log.warn("Attempt {} to send the message to chat ID {} failed: {}",
+                delivery.attempt(), delivery.chatId(), error);
+        return retry(delivery, timeProvider.nanoTime() + properties.retryDelay().toNanos());
+    }
+
+    private Outcome retry(Delivery delivery, long notBefore) {
+        if (delivery.attempt() >= properties.maxAttempts()) {
+            log.warn("Giving up on the message to chat ID {} after {} attempts",
+                    delivery.chatId(), delivery.attempt());
+            return new Outcome(delivery.chatId(), false, null);
+        }
+        return new Outcome(delivery.chatId(), false,
+                new Delivery(delivery.chatId(), delivery.attempt() + 1, notBefore));
+    }
+
+    /**
+     * State of one broadcast, touched only by the thread that runs it. The responses
+     * are reported back through {@link #outcomes}.
+     */
+    private final class Broadcast {
+        private final String text;
+        private final PriorityQueue<Delivery> scheduled =
+                new PriorityQueue<>(Comparator.comparingLong(Delivery::notBefore));
+        private final BlockingQueue<Outcome> outcomes = new LinkedBlockingQueue<>();
+        private final List<Long> delivered = new ArrayList<>();
+        private final List<Long> failed = new ArrayList<>();
+        private int inFlight;
+
+        private Broadcast(String text, List<Long> chatIds, long startedAt) {
+            this.text = text;
+            chatIds.forEach(chatId -> scheduled.add(new Delivery(chatId, 1, startedAt)));
+        }
+
+        private void run() throws InterruptedException {
+            while (!scheduled.isEmpty() || inFlight > 0) {
+                long waitNanos = inFlight < properties.maxInFlight()
+                        ? dispatchNext()
+                        : Long.MAX_VALUE;
+                if (waitNanos == 0) {
+                    continue;
+                }
+                Outcome outcome = waitNanos == Long.MAX_VALUE
+                        ? outcomes.take()
+                        : outcomes.poll(waitNanos, TimeUnit.NANOSECONDS);
+                for (; outcome != null; outcome = outcomes.poll()) {
+                    inFlight--;
+                    if (outcome.delivered()) {
+                        delivered.add(outcome.chatId());
+                    } else if (outcome.retry() != null) {
+                        scheduled.add(outcome.retry());
+                    } else {
+                        failed.add(outcome.chatId());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Sends or reschedules the earliest scheduled message.
+         *
+         * @return {@code 0} if the message was handled, otherwise the nanoseconds to wait
+         * before it can be ({@link Long#MAX_VALUE} if nothing is scheduled)
+         */
+        private long dispatchNext() {
+            Delivery delivery = scheduled.peek();
+            if (delivery == null) {
+                return Long.MAX_VALUE;
+            }
+            long now = timeProvider.nanoTime();
+            long waitNanos = Math.max(delivery.notBefore(), pausedUntil.get()) - now;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            long botTokens = botBucket.tryAcquire(now);
+            if (botTokens < 0) {
+                return -botTokens;
+            }
+            scheduled.poll();
+            // Only a retried message may find its chat bucket empty, it then costs a bot token
+            long chatTokens = chatBuckets.computeIfAbsent(delivery.chatId(), chatId ->
+                    new TokenBucket(1, properties.messagesPerChatPerSecond(), now))
+                    .tryAcquire(now);
+            if (chatTokens < 0) {
+                scheduled.add(new Delivery(delivery.chatId(), delivery.attempt(),
+                        now - chatTokens));
+                return 0;
+            }
+            inFlight++;
+            send(text, delivery).thenAccept(outcomes::add);
+            return 0;
+        }
+    }
+
+    private record Delivery(Long chatId, int attempt, long notBefore) {
+    }
+
+    /**
+     * Result of an attempt to send a message.
+     *
+     * @param chatId    the chat the message was sent to
+     * @param delivered whether the message was delivered
+     * @param retry     the next attempt, or {@code null} if there is none
+     */
+    private record Outcome(Long chatId, boolean delivered, Delivery retry) {
+    }
+}
@@ -1,35 +1,37 @@
 package com.example.privattest.notification.impl;
 
+import com.example.privattest.event.NotificationQueuedEvent;
 import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.notification.NotificationOutbox;
 import com.example.privattest.notification.NotificationService;
-import com.example.privattest.service.UserChatIdService;
 import com.example.privattest.telegram.ExchangeRatesBot;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+/**
+ * {@link NotificationService} sending the rates to every Telegram user of the bot.
+ *
+ * <p>The message is rendered once and queued in the {@link NotificationOutbox}
+ * in the transaction of the caller, so it is sent only if the rates are committed,
+ * and is still sent if the application stops right after that. The outbox is drained
+ * by {@link OutboxNotificationDrainer} once the transaction commits.</p>
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TelegramNotificationService implements NotificationService {
     private final ExchangeRatesBot exchangeRatesBot;
-    private final UserChatIdService userChatIdService;
+    private final NotificationOutbox notificationOutbox;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void notify(List<ExchangeRate> exchangeRates) {
         log.info("Starting notification process for {} exchange rates.", exchangeRates.size());
-
-        CompletableFuture.runAsync(() -> {
-            try {
-                userChatIdService.getUsersChatIds().forEach(chatId -> {
-                    log.info("Sending currency data to chatId: {}", chatId.getChatId());
-                    exchangeRatesBot.sendCurrencyData(chatId.getChatId(), exchangeRates);
-                });
-            } catch (Exception e) {
-                log.error("Error during the notification process: {}", e.getMessage(), e);
-            }
-        });
+        String text = exchangeRatesBot.renderCurrencyData(exchangeRates);
+        long notificationId = notificationOutbox.enqueue(text);
+        eventPublisher.publishEvent(new NotificationQueuedEvent(notificationId));
     }
 }
@@ -0,0 +1,17 @@
+package com.example.privattest.ratelimit;
+
+/**
+ * Outcome of a rate-limited request.
+ *
+ * @param allowed         whether the request may proceed
+ * @param limit           the burst capacity of the client
+ * @param remaining       the number of requests the client may still make right away
+ * @param retryAfterNanos how long a rejected client has to wait, zero if allowed
+ */
+public record RateLimitDecision(
+        boolean allowed,
+        long limit,
+        long remaining,
+        long retryAfterNanos
+) {
+}
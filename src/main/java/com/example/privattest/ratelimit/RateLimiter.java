@@ -0,0 +1,21 @@
+package com.example.privattest.ratelimit;
+
+/**
+ * Limits the rate of API requests per client: per API key for the known keys,
+ * per address for everyone else.
+ */
+public interface RateLimiter {
+    /**
+     * Takes a token from the bucket of the client.
+     *
+     * @param apiKey        the API key sent by the client, may be {@code null}
+     * @param clientAddress the address of the client, used if the API key isn't known
+     * @return the {@link RateLimitDecision} for the request
+     */
+    RateLimitDecision tryAcquire(String apiKey, String clientAddress);
+
+    /**
+     * Removes the buckets of the clients that have been idle long enough to refill them.
+     */
+    void evictIdle();
+}
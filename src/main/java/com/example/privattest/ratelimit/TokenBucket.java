@@ -0,0 +1,87 @@
+package com.example.privattest.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept in a single {@code long}.
+ *
+ * <p>Instead of a token count, the bucket stores the time at which it will be full again
+ * (the generic cell rate algorithm). Taking a token moves that time one refill interval
+ * forward; the token is available if the time doesn't get further than the capacity
+ * intervals ahead of now. So both the refill and the take are one compare-and-set,
+ * with no timer and no lock.</p>
+ */
+public final class TokenBucket {
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity        the maximum number of tokens
+     * @param refillPerSecond the number of tokens added per second
+     * @param now             the current {@link System#nanoTime()}
+     */
+    public TokenBucket(long capacity, double refillPerSecond, long now) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid token bucket: capacity %d, refill %s per second",
+                    capacity, refillPerSecond));
+        }
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, Math.round(NANOS_PER_SECOND / refillPerSecond));
+        this.toleranceNanos = Math.multiplyExact(intervalNanos, capacity);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if there is one.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the number of tokens left ({@code >= 0}) if a token was taken, otherwise
+     * the negated number of nanoseconds until the next token is added ({@code < 0})
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > toleranceNanos) {
+                return -(ahead - toleranceNanos);
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return (toleranceNanos - ahead) / intervalNanos;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the bucket has refilled completely, so it can be dropped and recreated
+     * later without changing the limit.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return {@code true} if the bucket is full
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+
+    /**
+     * Returns how long the bucket takes to refill completely, i.e. how many tokens dropping
+     * it now would forgive, in refill intervals.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the number of nanoseconds until the bucket is full, {@code 0} if it is
+     */
+    public long nanosUntilFull(long now) {
+        return Math.max(0, fullAt.get() - now);
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+}
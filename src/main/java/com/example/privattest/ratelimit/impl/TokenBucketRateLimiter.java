@@ -0,0 +1,117 @@
+package com.example.privattest.ratelimit.impl;
+
+import com.example.privattest.config.RateLimitProperties;
+import com.example.privattest.ratelimit.RateLimitDecision;
+import com.example.privattest.ratelimit.RateLimiter;
+import com.example.privattest.ratelimit.TokenBucket;
+import com.example.privattest.util.TimeProvider;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link RateLimiter} keeping a {@link TokenBucket} per client.
+ *
+ * <p>The buckets of the configured API keys are created upfront and never removed.
+ * The buckets of addresses are created on the first request and removed by a periodic
+ * sweep once they refill, since a full bucket is the same as no bucket. About
+ * {@code rate-limit.max-clients} addresses are tracked at most: a new address beyond them
+ * evicts the fullest of a few tracked buckets, whose removal forgives the fewest tokens,
+ * so a flood of addresses can't grow the map nor take the limit of the others.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true")
+@Slf4j
+public class TokenBucketRateLimiter implements RateLimiter {
+    private static final int EVICTION_SAMPLE = 16;
+
+    private final TimeProvider timeProvider;
+    private final int maxClients;
+    private final RateLimitProperties.Tier anonymousTier;
+    private final Map<String, TokenBucket> apiKeyBuckets = new HashMap<>();
+    private final ConcurrentMap<String, TokenBucket> addressBuckets = new ConcurrentHashMap<>();
+
+    public TokenBucketRateLimiter(RateLimitProperties properties, TimeProvider timeProvider) {
+        this.timeProvider = timeProvider;
+        this.maxClients = properties.maxClients();
+        this.anonymousTier = findTier(properties, properties.anonymousTier());
+        long now = timeProvider.nanoTime();
+        properties.apiKeys().forEach((apiKey, tierName) -> {
+            RateLimitProperties.Tier tier = findTier(properties, tierName);
+            apiKeyBuckets.put(apiKey,
+                    new TokenBucket(tier.capacity(), tier.refillPerSecond(), now));
+        });
+        log.info("Rate limiting {} API keys and up to {} addresses", apiKeyBuckets.size(),
+                maxClients);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String apiKey, String clientAddress) {
+        long now = timeProvider.nanoTime();
+        TokenBucket bucket = apiKey == null ? null : apiKeyBuckets.get(apiKey);
+        if (bucket == null) {
+            bucket = findAddressBucket(clientAddress, now);
+        }
+        long result = bucket.tryAcquire(now);
+        return result >= 0
+                ? new RateLimitDecision(true, bucket.getCapacity(), result, 0)
+                : new RateLimitDecision(false, bucket.getCapacity(), 0, -result);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval}")
+    public void evictIdle() {
+        long now = timeProvider.nanoTime();
+        int before = addressBuckets.size();
+        // A token taken from a bucket right as it is removed is forgiven, the next one isn't
+        addressBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        log.debug("Removed {} idle rate limit buckets", before - addressBuckets.size());
+    }
+
+    private TokenBucket findAddressBucket(String clientAddress, long now) {
+        TokenBucket bucket = addressBuckets.get(clientAddress);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (addressBuckets.size() >= maxClients) {
+            evictFullest(now);
+        }
+        return addressBuckets.computeIfAbsent(clientAddress, key -> newAnonymousBucket(now));
+    }
+
+    private void evictFullest(long now) {
+        Map.Entry<String, TokenBucket> fullest = null;
+        long fullestNanos = Long.MAX_VALUE;
+        int sampled = 0;
+        for (Map.Entry<String, TokenBucket> entry : addressBuckets.entrySet()) {
+            long nanosUntilFull = entry.getValue().nanosUntilFull(now);
+            if (nanosUntilFull < fullestNanos) {
+                fullest = entry;
+                fullestNanos = nanosUntilFull;
+            }
+            if (fullestNanos == 0 || ++sampled == EVICTION_SAMPLE) {
+                break;
+            }
+        }
+        if (fullest != null) {
+            addressBuckets.remove(fullest.getKey(), fullest.getValue());
+        }
+    }
+
+    private TokenBucket newAnonymousBucket(long now) {
+        return new TokenBucket(anonymousTier.capacity(), anonymousTier.refillPerSecond(), now);
+    }
+
+    private static RateLimitProperties.Tier findTier(RateLimitProperties properties, String name) {
+        RateLimitProperties.Tier tier = properties.tiers().get(name);
+        if (tier == null) {
+            throw new IllegalStateException("Unknown rate limit tier: " + name);
+        }
+        return tier;
+    }
+}
@@ -2,19 +2,77 @@ package com.example.privattest.repository;
 
 import com.example.privattest.model.Currency;
 import com.example.privattest.model.ExchangeRate;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
     Optional<ExchangeRate> findTopByCurrencyOrderByTimestampDesc(Currency currency);
 
+    /**
+     * Returns the latest rate of every given currency in one query.
+     * Each currency is resolved by a descent of the (currency, timestamp) index.
+     */
+    @Query(value = """
+            select distinct on (currency) * from exchange_rate
+            where currency in (:currencies)
+            order by currency, timestamp desc
+            """, nativeQuery = true)
+    List<ExchangeRate> findLatestOfCurrencies(Collection<String> currencies);
+
     Optional<ExchangeRate> findTopByCurrencyAndTimestampBetweenOrderByTimestampDesc(
             Currency currency, LocalDateTime startTime, LocalDateTime endTime
     );
 
+    /**
+     * Returns the rate of the currency in effect at the given time, the latest one not after it.
+     * The covering (currency, timestamp, id) index holds every column, so the lookup
+     * is an index-only scan.
+     */
+    Optional<ExchangeRate> findTopByCurrencyAndTimestampLessThanEqualOrderByTimestampDesc(
+            Currency currency, LocalDateTime time
+    );
+
     List<ExchangeRate> findAllByCurrencyAndTimestampBetweenOrderByTimestampDesc(
             Currency currency, LocalDateTime startDate, LocalDateTime endTime
     );
+
+    List<ExchangeRate> findAllByTimestampGreaterThanEqualOrderByTimestampAsc(
+            LocalDateTime startTime
+    );
+
+    List<ExchangeRate> findAllByCurrencyAndTimestampGreaterThanOrderByTimestampAsc(
+            Currency currency, LocalDateTime afterTime
+    );
+
+    /**
+     * Returns the next page of rates in chronological order, starting right after
+     * the given (timestamp, id) position (keyset pagination).
+     * Unlike offset pagination, the cost of a page doesn't grow with the position.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select e from ExchangeRate e
+            where e.currency = :currency
+                and e.timestamp <= :endTime
+                and (e.timestamp > :afterTimestamp
+                    or (e.timestamp = :afterTimestamp and e.id > :afterId))
+            order by e.timestamp, e.id
+            """)
+    List<ExchangeRate> findPageAfter(
+            Currency currency, LocalDateTime afterTimestamp, Long afterId,
+            LocalDateTime endTime, Limit limit
+    );
+
+    @Modifying
+    @Query("delete from ExchangeRate e where e.timestamp in :timestamps")
+    int deleteAllByTimestampIn(Collection<LocalDateTime> timestamps);
 }
@@ -0,0 +1,98 @@
+package com.example.privattest.repository;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the read queries of {@link ExchangeRateRepository},
+ * used by the reactive read path. Rates are written by JPA only.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveExchangeRateRepository {
+    private final DatabaseClient databaseClient;
+
+    public Mono<ExchangeRate> findTopByCurrencyOrderByTimestampDesc(Currency currency) {
+        return databaseClient.sql("""
+                        select id, currency, rate_buy, rate_sell, timestamp
+                        from exchange_rate
+                        where currency = :currency
+                        order by timestamp desc
+                        limit 1
+                        """)
+                .bind("currency", currency.getAlphaCode())
+                .map(ReactiveExchangeRateRepository::toExchangeRate)
+                .one();
+    }
+
+    public Mono<ExchangeRate> findTopByCurrencyAndTimestampBetweenOrderByTimestampDesc(
+            Currency currency, LocalDateTime startTime, LocalDateTime endTime) {
+        return databaseClient.sql("""
+                        select id, currency, rate_buy, rate_sell, timestamp
+                        from exchange_rate
+                        where currency = :currency
+                            and timestamp between :startTime and :endTime
+                        order by timestamp desc
+                        limit 1
+                        """)
+                .bind("currency", currency.getAlphaCode())
+                .bind("startTime", startTime)
+                .bind("endTime", endTime)
+                .map(ReactiveExchangeRateRepository::toExchangeRate)
+                .one();
+    }
+
+    public Flux<ExchangeRate> findAllByCurrencyAndTimestampBetweenOrderByTimestampDesc(
+            Currency currency, LocalDateTime startTime, LocalDateTime endTime) {
+        return databaseClient.sql("""
+                        select id, currency, rate_buy, rate_sell, timestamp
+                        from exchange_rate
+                        where currency = :currency
+                            and timestamp between :startTime and :endTime
+                        order by timestamp desc
+                        """)
+                .bind("currency", currency.getAlphaCode())
+                .bind("startTime", startTime)
+                .bind("endTime", endTime)
+                .map(ReactiveExchangeRateRepository::toExchangeRate)
+                .all();
+    }
+
+    /**
+     * Returns the latest rate of every given currency in one query.
+     *
+     * @see ExchangeRateRepository#findLatestOfCurrencies(Collection)
+     */
+    public Flux<ExchangeRate> findLatestOfCurrencies(Collection<String> currencies) {
+        return databaseClient.sql("""
+                        select distinct on (currency) id, currency, rate_buy, rate_sell, timestamp
+                        from exchange_rate
+                        where currency in (:currencies)
+                        order by currency, timestamp desc
+                        """)
+                .bind("currencies", currencies)
+                .map(ReactiveExchangeRateRepository::toExchangeRate)
+                .all();
+    }
+
+    private static ExchangeRate toExchangeRate(Readable row) {
+        return new ExchangeRate(
+                row.get("id", Long.class),
+                Currency.valueOf(row.get("currency", String.class)),
+                row.get("rate_buy", BigDecimal.class),
+                row.get("rate_sell", BigDecimal.class),
+                row.get("timestamp", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.privattest.scheduler;
+
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.service.SchedulerLockService;
+import com.example.privattest.store.RateStoreLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the ingestion of exchange rates when several instances of the application
+ * share the database.
+ *
+ * <p>Every instance fires the schedule, but only the one holding the lock fetches and saves
+ * the rates. The others are notified about the saved rates, and also check the database
+ * periodically in case a notification was missed.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRateUpdateScheduler {
+    static final String UPDATE_LOCK = "updateExchangeRates";
+
+    private final ExchangeRateService exchangeRateService;
+    private final SchedulerLockService schedulerLockService;
+    private final RateStoreLoader rateStoreLoader;
+
+    @Scheduled(cron = "${scheduler.cron.every-hour}")
+    public void updateExchangeRates() {
+        if (!schedulerLockService.tryLock(UPDATE_LOCK)) {
+            log.info("Exchange rates are being updated by another instance, skipping");
+            return;
+        }
+        try {
+            exchangeRateService.updateExchangeRates();
+        } finally {
+            schedulerLockService.unlock(UPDATE_LOCK);
+        }
+    }
+
+    @Scheduled(cron = "${scheduler.cron.every-2-minutes}")
+    public void syncExchangeRates() {
+        if (rateStoreLoader.catchUp()) {
+            exchangeRateService.refreshCaches();
+        }
+    }
+}
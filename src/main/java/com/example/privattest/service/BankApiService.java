@@ -18,4 +18,11 @@ public interface BankApiService<T extends BankRateApiResponse> {
      * as objects of type {@link T}.
      */
     CompletableFuture<List<T>> fetchRates();
+
+    /**
+     * Returns a short name of the bank, used to tag the data fetched from it.
+     *
+     * @return the name of the bank
+     */
+    String getBankName();
 }
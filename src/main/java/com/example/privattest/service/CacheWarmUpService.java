@@ -0,0 +1,14 @@
+package com.example.privattest.service;
+
+/**
+ * Service interface for warming up the caches of exchange rates,
+ * so the first requests don't have to go to the database.
+ */
+public interface CacheWarmUpService {
+    /**
+     * Loads the latest rates, hourly and daily dynamics of all tracked currencies
+     * into the caches and lets the caches derived from them refresh.
+     * Currencies without data are skipped.
+     */
+    void warmUp();
+}
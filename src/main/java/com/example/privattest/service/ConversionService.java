@@ -0,0 +1,37 @@
+package com.example.privattest.service;
+
+import com.example.privattest.dto.ConversionDto;
+import com.example.privattest.dto.ConversionRequestDto;
+import java.util.List;
+
+/**
+ * Service interface for converting amounts between currencies at the bank rates.
+ *
+ * <p>The rates are quoted in hryvnias: an amount in a foreign currency is sold to the bank
+ * at its buy rate, and an amount of another currency is bought from the bank at its sell rate.
+ * A conversion between two foreign currencies goes through the hryvnia. The converted amount
+ * is rounded half up to the minor unit of the target currency.</p>
+ */
+public interface ConversionService {
+    /**
+     * Converts an amount at the latest rates, or at the rates in effect at the requested time.
+     *
+     * @param request the currencies, the amount and the optional time of the rates.
+     * @return a {@link ConversionDto} with the converted amount and the time of the rates used.
+     * @throws com.example.privattest.exception.CurrencyDataNotFoundException if there is
+     *                                                                        no rate of either
+     *                                                                        currency.
+     */
+    ConversionDto convert(ConversionRequestDto request);
+
+    /**
+     * Converts several amounts. Those without a time use the same latest rates.
+     *
+     * @param requests the conversions to make.
+     * @return a {@link ConversionDto} per request, in the requested order.
+     * @throws com.example.privattest.exception.CurrencyDataNotFoundException if there is
+     *                                                                        no rate of any
+     *                                                                        requested currency.
+     */
+    List<ConversionDto> convertAll(List<ConversionRequestDto> requests);
+}
@@ -0,0 +1,28 @@
+package com.example.privattest.service;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+/**
+ * Service for exporting the history of exchange rates.
+ */
+public interface ExchangeRateExportService {
+    /**
+     * Writes all exchange rates of the currency recorded in the given period
+     * to the output stream, oldest first. Rates are read and written page by page,
+     * so the memory used doesn't depend on the length of the period.
+     *
+     * @param currency     the {@link Currency} to export the rates for
+     * @param startTime    the beginning of the period, inclusive
+     * @param endTime      the end of the period, inclusive
+     * @param format       the {@link ExportFormat} of the output
+     * @param outputStream the stream to write the rates to; it isn't closed by this method
+     * @return the number of exported rates
+     * @throws IOException if writing to the stream fails
+     */
+    long exportRates(Currency currency, LocalDateTime startTime, LocalDateTime endTime,
+                     ExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -1,5 +1,6 @@
 package com.example.privattest.service;
 
+import com.example.privattest.dto.CurrencySnapshotDto;
 import com.example.privattest.dto.DynamicDetailsDto;
 import com.example.privattest.dto.ExchangeRateDto;
 import com.example.privattest.model.Currency;
@@ -38,9 +39,28 @@ public interface ExchangeRateService {
      */
     List<DynamicDetailsDto> getDailyDynamics(Currency currency);
 
+    /**
+     * Fetches the latest exchange rates of several currencies at once.
+     * Rates missing from the cache and the in-memory store are read in a single query.
+     *
+     * @param currencies           the currencies to include, all tracked ones if empty.
+     * @param withHourlyDynamics   whether to include the hourly dynamics of each currency.
+     * @return a {@link CurrencySnapshotDto} per requested currency that has any rates,
+     * in the requested order; the hourly dynamics are {@code null} if not requested
+     * or unavailable.
+     */
+    List<CurrencySnapshotDto> getSnapshot(List<Currency> currencies, boolean withHourlyDynamics);
+
     /**
      * Fetches the latest exchange rates from external sources and records them in the database.
      * The operation updates the cached exchange rates to ensure fresh data availability.
      */
     void updateExchangeRates();
+
+    /**
+     * Recalculates the latest rate, hourly and daily dynamics of every tracked currency
+     * and puts them into the caches in place of the previous values, so readers never
+     * see a cache miss. Cached values of currencies without fresh data are evicted.
+     */
+    void refreshCaches();
 }
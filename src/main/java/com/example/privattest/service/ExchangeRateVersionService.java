@@ -0,0 +1,51 @@
+package com.example.privattest.service;
+
+import com.example.privattest.model.Currency;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Service interface for the validators of HTTP conditional requests.
+ * Everything the API returns for a currency changes only when a new rate is ingested,
+ * so the time of the latest rate identifies the version of the data.
+ */
+public interface ExchangeRateVersionService {
+    /**
+     * Returns the time of the latest rate of the currency the cached data was last refreshed
+     * with, so the validators match the data served even while a refresh is in progress.
+     *
+     * @param currency the {@link Currency} to check.
+     * @return the time of the latest rate, or an empty {@link Optional} if there is no
+     * cached data of the currency yet.
+     */
+    Optional<LocalDateTime> getLastModified(Currency currency);
+
+    /**
+     * Calculates how long the data of the given version stays fresh,
+     * i.e. the time left until the next scheduled ingestion after it.
+     *
+     * @param lastModified the time of the latest rate.
+     * @return the time left, or {@link Duration#ZERO} if the ingestion is already due.
+     */
+    Duration getTimeToLive(LocalDateTime lastModified);
+
+    /**
+     * Converts the time of the latest rate into the value of the {@code Last-Modified} header.
+     *
+     * @param lastModified the time of the latest rate.
+     * @return the time in epoch milliseconds.
+     */
+    long toEpochMilli(LocalDateTime lastModified);
+
+    /**
+     * Builds the entity tag of the data of the currency of the given version.
+     * The tag is weak, as it is shared by all representations of the data: JSON, CBOR
+     * and MessagePack, with or without gzip, which are equivalent but not byte for byte.
+     *
+     * @param currency     the {@link Currency} of the data.
+     * @param lastModified the time of the latest rate.
+     * @return the weak entity tag.
+     */
+    String getEtag(Currency currency, LocalDateTime lastModified);
+}
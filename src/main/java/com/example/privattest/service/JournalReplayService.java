@@ -0,0 +1,20 @@
+package com.example.privattest.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service for restoring the stored exchange rates from the journal of raw bank quotes.
+ */
+public interface JournalReplayService {
+    /**
+     * Replaces the exchange rates of the updates journaled in the given period with the ones
+     * recalculated from the journal. Quotes of all banks fetched in the same update are
+     * averaged together, the same way as during the update itself. The rates of updates
+     * missing from the journal are kept as they are.
+     *
+     * @param startTime the beginning of the period, inclusive
+     * @param endTime   the end of the period, inclusive
+     * @return the number of exchange rates saved
+     */
+    int rebuildExchangeRates(LocalDateTime startTime, LocalDateTime endTime);
+}
@@ -0,0 +1,35 @@
+package com.example.privattest.service;
+
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.dto.PointInTimeRateDto;
+import com.example.privattest.model.Currency;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for looking up the exchange rate in effect at a past time,
+ * the latest rate recorded not after it.
+ */
+public interface PointInTimeRateService {
+    /**
+     * Fetches the exchange rate of a currency in effect at the given time.
+     *
+     * @param currency the {@link Currency} for which the rate is requested.
+     * @param time     the time to get the rate at.
+     * @return an {@link ExchangeRateDto} of the latest rate recorded not after the time.
+     * @throws com.example.privattest.exception.CurrencyDataNotFoundException if there are
+     *                                                                        no rates before it.
+     */
+    ExchangeRateDto getRateAt(Currency currency, LocalDateTime time);
+
+    /**
+     * Fetches the exchange rates of a currency in effect at each of the given times.
+     * Every distinct time is looked up once.
+     *
+     * @param currency the {@link Currency} for which the rates are requested.
+     * @param times    the times to get the rates at.
+     * @return a {@link PointInTimeRateDto} per requested time, in the requested order;
+     * the rate is {@code null} if there are no rates before that time.
+     */
+    List<PointInTimeRateDto> getRatesAt(Currency currency, List<LocalDateTime> times);
+}
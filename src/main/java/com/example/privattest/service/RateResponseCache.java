@@ -0,0 +1,29 @@
+package com.example.privattest.service;
+
+import com.example.privattest.model.CachedRateResponse;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.RateEndpoint;
+
+/**
+ * Cache of serialized responses of the rate endpoints, produced once per ingestion,
+ * so the hot read path writes ready bytes instead of serializing DTOs on every request.
+ */
+public interface RateResponseCache {
+    /**
+     * Returns the serialized response of the endpoint for the currency.
+     *
+     * @param endpoint the requested endpoint
+     * @param currency the requested currency
+     * @return the response, or {@code null} if there is none for the current version
+     * of the data, in which case the request has to be handled as usual
+     */
+    CachedRateResponse get(RateEndpoint endpoint, Currency currency);
+
+    /**
+     * Serializes the current responses of all rate endpoints for the given currencies,
+     * replacing the previous ones.
+     *
+     * @param currencies the currencies to serialize responses for
+     */
+    void refresh(Iterable<Currency> currencies);
+}
@@ -0,0 +1,28 @@
+package com.example.privattest.service;
+
+import com.example.privattest.model.Currency;
+import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service interface for the live stream of exchange rates.
+ * Subscribers receive the latest rates and hourly dynamics of their currencies
+ * as Server-Sent Events whenever new rates are ingested, instead of polling for them.
+ */
+public interface RateStreamService {
+    /**
+     * Subscribes a client to the rates of the given currencies.
+     * The current rates are sent right away, the updated ones after every ingestion.
+     *
+     * @param currencies the currencies to follow, all tracked ones if empty.
+     * @return the emitter of the events, to be returned from the controller.
+     */
+    SseEmitter subscribe(List<Currency> currencies);
+
+    /**
+     * Returns the number of the connected subscribers.
+     *
+     * @return the number of subscribers.
+     */
+    int getSubscriberCount();
+}
@@ -0,0 +1,55 @@
+package com.example.privattest.service;
+
+import com.example.privattest.dto.CurrencySnapshotDto;
+import com.example.privattest.dto.DynamicDetailsDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.model.Currency;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the read methods of {@link ExchangeRateService},
+ * used when the application runs as a reactive web application.
+ * Both share the caches, the in-memory store and the calculation logic,
+ * only the database is read without blocking.
+ */
+public interface ReactiveExchangeRateService {
+    /**
+     * Fetches the latest exchange rate for a given currency.
+     *
+     * @param currency the {@link Currency} for which the latest rate is requested.
+     * @return the latest exchange rate, or a {@link Mono} failed with
+     * {@link com.example.privattest.exception.CurrencyDataNotFoundException} if there is none.
+     * @see ExchangeRateService#getLatestRate(Currency)
+     */
+    Mono<ExchangeRateDto> getLatestRate(Currency currency);
+
+    /**
+     * Calculates the hourly dynamics of exchange rates for a given currency.
+     *
+     * @param currency the {@link Currency} for which hourly dynamics are calculated.
+     * @return the dynamics data.
+     * @see ExchangeRateService#getHourlyDynamics(Currency)
+     */
+    Mono<DynamicDetailsDto> getHourlyDynamics(Currency currency);
+
+    /**
+     * Calculates the daily dynamics of exchange rates for a given currency.
+     *
+     * @param currency the {@link Currency} for which daily dynamics are calculated.
+     * @return the dynamics data of every hourly interval of the day.
+     * @see ExchangeRateService#getDailyDynamics(Currency)
+     */
+    Mono<List<DynamicDetailsDto>> getDailyDynamics(Currency currency);
+
+    /**
+     * Fetches the latest exchange rates of several currencies at once.
+     *
+     * @param currencies         the currencies to include, all tracked ones if empty.
+     * @param withHourlyDynamics whether to include the hourly dynamics of each currency.
+     * @return the latest rates of the requested currencies that have any.
+     * @see ExchangeRateService#getSnapshot(List, boolean)
+     */
+    Mono<List<CurrencySnapshotDto>> getSnapshot(
+            List<Currency> currencies, boolean withHourlyDynamics);
+}
@@ -0,0 +1,26 @@
+package com.example.privattest.service;
+
+/**
+ * Service interface for the locks shared by all instances of the application.
+ * A lock is a lease: it expires by itself, so the work is taken over by another instance
+ * if the holder dies without releasing it.
+ */
+public interface SchedulerLockService {
+    /**
+     * Tries to acquire the lock for the current instance.
+     *
+     * @param name the name of the lock.
+     * @return {@code true} if the lock was free (or its lease expired) and is now held
+     * by this instance, {@code false} if another instance holds it.
+     */
+    boolean tryLock(String name);
+
+    /**
+     * Releases the lock held by the current instance. The lease is kept for at least
+     * the configured minimum time since it was acquired, so an instance whose clock
+     * is slightly behind doesn't run the same scheduled task again.
+     *
+     * @param name the name of the lock.
+     */
+    void unlock(String name);
+}
@@ -0,0 +1,64 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.CacheWarmUpService;
+import com.example.privattest.service.ExchangeRateService;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link CacheWarmUpService} running on startup, right after the in-memory store is loaded.
+ *
+ * <p>Application runners complete before the application is marked as ready to accept
+ * traffic, so the readiness probe stays down until the caches are warm.</p>
+ */
+@Service
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmUpServiceImpl implements CacheWarmUpService, ApplicationRunner {
+    private final ExchangeRateService exchangeRateService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${exchange-rate.tracked-currencies}")
+    private List<Currency> trackedCurrencies;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    @Override
+    public void warmUp() {
+        long start = System.nanoTime();
+        for (Currency currency : trackedCurrencies) {
+            // Each value is warmed up separately: e.g. shortly after midnight there are
+            // no daily dynamics yet, but the latest rate and hourly dynamics may exist
+            warmUp(currency, "latest rate", exchangeRateService::getLatestRate);
+            warmUp(currency, "hourly dynamics", exchangeRateService::getHourlyDynamics);
+            warmUp(currency, "daily dynamics", exchangeRateService::getDailyDynamics);
+        }
+        eventPublisher.publishEvent(new ExchangeRatesRefreshedEvent(trackedCurrencies));
+        log.info("Caches of currencies {} warmed up in {} ms", trackedCurrencies,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void warmUp(Currency currency, String value, Consumer<Currency> loader) {
+        try {
+            loader.accept(currency);
+        } catch (CurrencyDataNotFoundException e) {
+            log.info("Skipping warm-up of the {} of currency {}: {}",
+                    value, currency, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.dto.ConversionDto;
+import com.example.privattest.dto.ConversionRequestDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.ConversionService;
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.service.PointInTimeRateService;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link ConversionService} keeping the latest rates as fixed-point longs in an array
+ * indexed by currency, replaced whenever the cached rates are refreshed.
+ *
+ * <p>A conversion at the latest rates reads the array and multiplies and divides longs,
+ * so it touches neither the caches nor the database, and allocates little more than
+ * the result. Amounts with too many digits for that fall back to {@link BigDecimal}
+ * arithmetic with the same rounding.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConversionServiceImpl implements ConversionService {
+    private static final int RATE_SCALE = 6;
+    private static final long RATE_ONE = 1_000_000L;
+    private static final Currency BASE_CURRENCY = Currency.UAH;
+    private static final Quote BASE_QUOTE = new Quote(RATE_ONE, RATE_ONE, null);
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final ExchangeRateService exchangeRateService;
+    private final PointInTimeRateService pointInTimeRateService;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Quote[] latestQuotes = new Quote[Currency.values().size()];
+
+    @EventListener
+    public void onExchangeRatesRefreshed(ExchangeRatesRefreshedEvent event) {
+        refreshLock.lock();
+        try {
+            Quote[] refreshed = latestQuotes.clone();
+            for (Currency currency : event.currencies()) {
+                try {
+                    refreshed[currency.getIndex()] =
+                            toQuote(exchangeRateService.getLatestRate(currency));
+                } catch (CurrencyDataNotFoundException e) {
+                    refreshed[currency.getIndex()] = null;
+                }
+            }
+            latestQuotes = refreshed;
+        } finally {
+            refreshLock.unlock();
+        }
+        log.debug("Conversion rates of currencies {} refreshed", event.currencies());
+    }
+
+    @Override
+    public ConversionDto convert(ConversionRequestDto request) {
+        return convertWith(request, latestQuotes);
+    }
+
+    @Override
+    public List<ConversionDto> convertAll(List<ConversionRequestDto> requests) {
+        Quote[] quotes = latestQuotes;
+        return requests.stream()
+                .map(request -> convertWith(request, quotes))
+                .toList();
+    }
+
+    private ConversionDto convertWith(ConversionRequestDto request, Quote[] quotes) {
+        Currency from = request.from();
+        Currency to = request.to();
+        int scale = to.getMinorUnits();
+        if (from == to) {
+            return new ConversionDto(from, to, request.amount(),
+                    request.amount().setScale(scale, RoundingMode.HALF_UP), null);
+        }
+        Quote fromQuote = findQuote(from, request.time(), quotes);
+        Quote toQuote = findQuote(to, request.time(), quotes);
+        // The bank buys the source currency and sells the target one, the hryvnia is 1/1
+        BigDecimal convertedAmount = multiplyByRatio(
+                request.amount(), fromQuote.buy(), toQuote.sell(), scale);
+        return new ConversionDto(from, to, request.amount(), convertedAmount,
+                earliest(fromQuote.timestamp(), toQuote.timestamp()));
+    }
+
+    private Quote findQuote(Currency currency, LocalDateTime time, Quote[] quotes) {
+        if (currency == BASE_CURRENCY) {
+            return BASE_QUOTE;
+        }
+        if (time != null) {
+            return toQuote(pointInTimeRateService.getRateAt(currency, time));
+        }
+        Quote quote = quotes[currency.getIndex()];
+        if (quote == null) {
+            throw new CurrencyDataNotFoundException(currency.getAlphaCode());
+        }
+        return quote;
+    }
+
+    /**
+     * Calculates {@code amount * numerator / denominator} rounded half up to the given scale.
+     */
+    private static BigDecimal multiplyByRatio(
+            BigDecimal amount, long numerator, long denominator, int scale) {
+        try {
+            long dividend = Math.multiplyExact(
+                    amount.unscaledValue().longValueExact(), numerator);
+            long divisor = denominator;
+            int shift = scale - amount.scale();
+            if (shift >= 0) {
+                dividend = Math.multiplyExact(dividend, powerOfTen(shift));
+            } else {
+                divisor = Math.multiplyExact(divisor, powerOfTen(-shift));
+            }
+            return BigDecimal.valueOf(divideHalfUp(dividend, divisor), scale);
+        } catch (ArithmeticException e) {
+            // The amount has too many digits for a long
+            return amount.multiply(BigDecimal.valueOf(numerator))
+                    .divide(BigDecimal.valueOf(denominator), scale, RoundingMode.HALF_UP);
+        }
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        return remainder >= divisor - remainder
+                ? quotient + Long.signum(dividend)
+                : quotient;
+    }
+
+    private static long powerOfTen(int exponent) {
+        if (exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("10^" + exponent + " overflows a long");
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+
+    private static LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isBefore(second) ? first : second;
+    }
+
+    private static Quote toQuote(ExchangeRateDto rate) {
+        return new Quote(toFixedPoint(rate.rateBuy()), toFixedPoint(rate.rateSell()),
+                rate.timestamp());
+    }
+
+    private static long toFixedPoint(BigDecimal value) {
+        return value.setScale(RATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Buy and sell rates in hryvnias with {@value #RATE_SCALE} decimal places.
+     */
+    private record Quote(long buy, long sell, LocalDateTime timestamp) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.mapper.ExchangeRateMapper;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.model.ExportFormat;
+import com.example.privattest.repository.ExchangeRateRepository;
+import com.example.privattest.service.ExchangeRateExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExchangeRateExportServiceImpl implements ExchangeRateExportService {
+    private static final String CSV_HEADER = "currency,rateBuy,rateSell,timestamp";
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final ExchangeRateMapper exchangeRateMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.page-size}")
+    private int pageSize;
+
+    @Override
+    public long exportRates(Currency currency, LocalDateTime startTime, LocalDateTime endTime,
+                            ExportFormat format, OutputStream outputStream) throws IOException {
+        log.debug("Exporting {} rates for currency {} for period {} - {}",
+                format, currency, startTime, endTime);
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported = 0;
+        // Rows at exactly startTime are included, as ids start from 1
+        LocalDateTime afterTimestamp = startTime;
+        Long afterId = 0L;
+        List<ExchangeRate> page;
+        do {
+            page = exchangeRateRepository.findPageAfter(
+                    currency, afterTimestamp, afterId, endTime, Limit.of(pageSize)
+            );
+            for (ExchangeRate rate : page) {
+                writeRate(writer, format, rate);
+            }
+            // Let the client receive the page while the next one is loading
+            writer.flush();
+            if (!page.isEmpty()) {
+                ExchangeRate last = page.get(page.size() - 1);
+                afterTimestamp = last.getTimestamp();
+                afterId = last.getId();
+                exported += page.size();
+            }
+        } while (page.size() == pageSize);
+
+        log.info("Exported {} rates for currency {} for period {} - {}",
+                exported, currency, startTime, endTime);
+        return exported;
+    }
+
+    private void writeRate(Writer writer, ExportFormat format, ExchangeRate rate)
+            throws IOException {
+        switch (format) {
+            case NDJSON -> writer.write(objectMapper.writeValueAsString(
+                    exchangeRateMapper.toDto(rate)
+            ));
+            case CSV -> {
+                writer.write(rate.getCurrency().getAlphaCode());
+                writer.write(',');
+                writer.write(rate.getRateBuy().toPlainString());
+                writer.write(',');
+                writer.write(rate.getRateSell().toPlainString());
+                writer.write(',');
+                writer.write(rate.getTimestamp().toString());
+            }
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        writer.write('\n');
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.privattest.service.impl;
 
+import com.example.privattest.config.CacheNames;
 import com.example.privattest.dto.BankRateApiResponse;
+import com.example.privattest.dto.CurrencySnapshotDto;
 import com.example.privattest.dto.DynamicDetailsDto;
 import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
 import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.journal.RateJournal;
+import com.example.privattest.journal.RateJournalEntry;
 import com.example.privattest.mapper.ExchangeRateMapper;
 import com.example.privattest.model.Currency;
 import com.example.privattest.model.ExchangeRate;
@@ -12,36 +17,73 @@ import com.example.privattest.repository.ExchangeRateRepository;
 import com.example.privattest.service.BankApiService;
 import com.example.privattest.service.CalculationService;
 import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.store.RateTimeSeriesStore;
+import com.example.privattest.sync.RateChangePublisher;
+import com.example.privattest.util.CacheRefreshGuard;
+import com.example.privattest.util.SingleFlight;
 import com.example.privattest.util.TimeProvider;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ExchangeRateServiceImpl implements ExchangeRateService {
+    private static final String CACHE_LOAD_TIMER = "cache.load.duration";
+    private static final String EXCHANGE_RATES_CACHE = CacheNames.EXCHANGE_RATES;
+    private static final String DYNAMIC_DETAILS_CACHE = CacheNames.DYNAMIC_DETAILS;
+    private static final String DYNAMIC_DETAILS_LIST_CACHE = CacheNames.DYNAMIC_DETAILS_LIST;
+
     private final List<BankApiService<?>> bankServices;
     private final CalculationService calculationService;
     private final NotificationService notificationService;
     private final ExchangeRateMapper exchangeRateMapper;
     private final ExchangeRateRepository exchangeRateRepository;
     private final TimeProvider timeProvider;
+    private final RateJournal rateJournal;
+    private final RateTimeSeriesStore rateTimeSeriesStore;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RateChangePublisher rateChangePublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheRefreshGuard cacheRefreshGuard;
+    private final MeterRegistry meterRegistry;
+    // Concurrent cache misses of the same currency share one calculation
+    private final SingleFlight<Currency, ExchangeRateDto> latestRateCalls = new SingleFlight<>();
+    private final SingleFlight<Currency, DynamicDetailsDto> hourlyDynamicsCalls =
+            new SingleFlight<>();
+    private final SingleFlight<Currency, List<DynamicDetailsDto>> dailyDynamicsCalls =
+            new SingleFlight<>();
 
     @Value("${max.minutes.difference-between-rates}")
     private Long maxDifference;
 
+    @Value("${exchange-rate.tracked-currencies}")
+    private List<Currency> trackedCurrencies;
+
     @Override
-    @Cacheable(value = "exchangeRates", key = "#currency")
     public ExchangeRateDto getLatestRate(Currency currency) {
+        return cached(EXCHANGE_RATES_CACHE, currency, latestRateCalls,
+                () -> loadLatestRate(currency));
+    }
+
+    private ExchangeRateDto loadLatestRate(Currency currency) {
         log.debug("Fetching the latest exchange rate for currency: {}...", currency);
         ExchangeRate latestRate = getLatestExchangeRate(currency);
         log.info("Fetched the latest exchange rate for currency: {}. Rate: {}",
@@ -50,18 +92,23 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     }
 
     @Override
-    @Cacheable(value = "dynamicDetails", key = "#currency")
     public DynamicDetailsDto getHourlyDynamics(Currency currency) {
+        return cached(DYNAMIC_DETAILS_CACHE, currency, hourlyDynamicsCalls,
+                () -> loadHourlyDynamics(currency));
+    }
+
+    private DynamicDetailsDto loadHourlyDynamics(Currency currency) {
         log.debug("Calculating hourly dynamics for currency: {}", currency);
         ExchangeRate latestRate = getLatestExchangeRate(currency);
 
         LocalDateTime oneHourAgo = latestRate.getTimestamp().minusMinutes(maxDifference);
-        ExchangeRate oldRate = exchangeRateRepository
-                .findTopByCurrencyAndTimestampBetweenOrderByTimestampDesc(
-                        currency,
-                        oneHourAgo,
-                        latestRate.getTimestamp().minusMinutes(1)
-                )
+        LocalDateTime beforeLatest = latestRate.getTimestamp().minusMinutes(1);
+        Optional<ExchangeRate> previousRate = rateTimeSeriesStore.covers(currency, oneHourAgo)
+                ? rateTimeSeriesStore.findLatestBetween(currency, oneHourAgo, beforeLatest)
+                : exchangeRateRepository.findTopByCurrencyAndTimestampBetweenOrderByTimestampDesc(
+                        currency, oneHourAgo, beforeLatest
+                );
+        ExchangeRate oldRate = previousRate
                 .orElseThrow(() -> new CurrencyDataNotFoundException(
                         "For the last hour for currency " + currency
                 ));
@@ -73,13 +120,18 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     }
 
     @Override
-    @Cacheable(value = "dynamicDetailsList", key = "#currency")
     public List<DynamicDetailsDto> getDailyDynamics(Currency currency) {
+        return cached(DYNAMIC_DETAILS_LIST_CACHE, currency, dailyDynamicsCalls,
+                () -> loadDailyDynamics(currency));
+    }
+
+    private List<DynamicDetailsDto> loadDailyDynamics(Currency currency) {
         log.debug("Fetching daily rate changes for currency: {}", currency);
         LocalDateTime startOfDay = timeProvider.today().atStartOfDay();
         LocalDateTime endOfDay = startOfDay.plusDays(1).minusNanos(1);
-        List<ExchangeRate> exchangeRates = exchangeRateRepository
-                .findAllByCurrencyAndTimestampBetweenOrderByTimestampDesc(
+        List<ExchangeRate> exchangeRates = rateTimeSeriesStore.covers(currency, startOfDay)
+                ? rateTimeSeriesStore.findAllBetween(currency, startOfDay, endOfDay)
+                : exchangeRateRepository.findAllByCurrencyAndTimestampBetweenOrderByTimestampDesc(
                         currency, startOfDay, endOfDay
                 );
 
@@ -97,14 +149,69 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
     }
 
     @Override
-    @CacheEvict(value = {"exchangeRates", "dynamicDetails", "dynamicDetailsList"},
-            allEntries = true)
-    @Scheduled(cron = "${scheduler.cron.every-hour}")
+    public List<CurrencySnapshotDto> getSnapshot(
+            List<Currency> currencies, boolean withHourlyDynamics) {
+        List<Currency> requested = currencies == null || currencies.isEmpty()
+                ? trackedCurrencies
+                : currencies.stream().distinct().toList();
+        Cache latestRatesCache = getCache(EXCHANGE_RATES_CACHE);
+        Map<Currency, ExchangeRateDto> latestRates = new HashMap<>();
+        List<Currency> misses = new ArrayList<>();
+        for (Currency currency : requested) {
+            ExchangeRateDto cachedRate = latestRatesCache.get(currency, ExchangeRateDto.class);
+            Optional<ExchangeRateDto> latestRate = cachedRate != null
+                    ? Optional.of(cachedRate)
+                    : rateTimeSeriesStore.findLatest(currency).map(exchangeRateMapper::toDto);
+            latestRate.ifPresentOrElse(rate -> latestRates.put(currency, rate),
+                    () -> misses.add(currency));
+        }
+        if (!misses.isEmpty()) {
+            log.debug("Fetching the latest exchange rates for currencies: {}...", misses);
+            long generation = cacheRefreshGuard.generation();
+            exchangeRateRepository.findLatestOfCurrencies(
+                            misses.stream().map(Currency::getAlphaCode).toList())
+                    .forEach(rate -> {
+                        ExchangeRateDto latestRate = exchangeRateMapper.toDto(rate);
+                        cacheRefreshGuard.putLoaded(
+                                latestRatesCache, rate.getCurrency(), latestRate, generation);
+                        latestRates.put(rate.getCurrency(), latestRate);
+                    });
+        }
+        return requested.stream()
+                .filter(latestRates::containsKey)
+                .map(currency -> new CurrencySnapshotDto(
+                        currency,
+                        latestRates.get(currency),
+                        withHourlyDynamics ? findHourlyDynamics(currency) : null
+                ))
+                .toList();
+    }
+
+    /**
+     * Returns the hourly dynamics of the currency from the cache, calculating them on a miss.
+     *
+     * @return the dynamics, or {@code null} if there is no rate for the last hour
+     */
+    private DynamicDetailsDto findHourlyDynamics(Currency currency) {
+        try {
+            return getHourlyDynamics(currency);
+        } catch (CurrencyDataNotFoundException e) {
+            return null;
+        }
+    }
+
+    @Override
     public void updateExchangeRates() {
         log.debug("Updating exchange rates...");
         try {
+            // The journal keeps milliseconds, the saved rows must match it to be rebuilt
+            LocalDateTime fetchedAt = timeProvider.now().truncatedTo(ChronoUnit.MILLIS);
             List<CompletableFuture<List<ExchangeRate>>> futures = bankServices.stream()
-                    .map(service -> service.fetchRates().thenApply(this::mapToExchangeRates))
+                    .map(service -> service.fetchRates()
+                            .thenApply(this::mapToExchangeRates)
+                            .thenApply(rates -> journalRates(
+                                    service.getBankName(), fetchedAt, rates
+                            )))
                     .toList();
 
             CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
@@ -116,20 +223,113 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
             // Calculate the average exchange rates for each currency
             Map<Currency, ExchangeRate> averageRates = calculationService
                     .calculateAverageRates(exchangeRates);
-            exchangeRateRepository.saveAll(averageRates.values());
+            // Use the tick time, so the saved rows can be rebuilt from the journal as they are
+            averageRates.values().forEach(rate -> rate.setTimestamp(fetchedAt));
+            // The notification is queued with the rates, so it is sent if and only if they are
+            List<ExchangeRate> savedRates = transactionTemplate.execute(status -> {
+                List<ExchangeRate> saved = exchangeRateRepository.saveAll(averageRates.values());
+                notificationService.notify(saved);
+                return saved;
+            });
+            savedRates.forEach(rateTimeSeriesStore::add);
+            refreshCaches();
+            rateChangePublisher.publishRatesSaved();
 
             log.info("Exchange rates successfully fetched and saved. Saved data: {}",
-                    averageRates.values());
-            notificationService.notify(averageRates.values().stream().toList());
+                    savedRates);
         } catch (Exception e) {
             log.error("Error fetching or saving exchange rates: {}", e.getMessage());
         }
     }
 
+    @Override
+    public void refreshCaches() {
+        cacheRefreshGuard.refresh(() -> {
+            for (Currency currency : trackedCurrencies) {
+                // A load started by a reader before the rates were saved may still be
+                // in flight, so the values are loaded anew rather than joined
+                refreshCache(EXCHANGE_RATES_CACHE, currency, () -> loadLatestRate(currency));
+                refreshCache(DYNAMIC_DETAILS_CACHE, currency,
+                        () -> loadHourlyDynamics(currency));
+                refreshCache(DYNAMIC_DETAILS_LIST_CACHE, currency,
+                        () -> loadDailyDynamics(currency));
+            }
+        });
+        log.debug("Caches of currencies {} refreshed", trackedCurrencies);
+        eventPublisher.publishEvent(new ExchangeRatesRefreshedEvent(trackedCurrencies));
+    }
+
+    /**
+     * Returns the cached value of the currency, or loads it on a miss. Concurrent misses
+     * share one load, whose value is put unless the caches were refreshed meanwhile:
+     * the load may have read the rates the refresh replaced.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cached(
+            String name, Currency currency, SingleFlight<Currency, T> calls, Supplier<T> loader) {
+        Cache cache = getCache(name);
+        Cache.ValueWrapper cachedValue = cache.get(currency);
+        if (cachedValue != null && cachedValue.get() != null) {
+            return (T) cachedValue.get();
+        }
+        return calls.execute(currency, () -> {
+            long generation = cacheRefreshGuard.generation();
+            T value = meterRegistry.timer(CACHE_LOAD_TIMER, "cache", name).record(loader);
+            cacheRefreshGuard.putLoaded(cache, currency, value, generation);
+            return value;
+        });
+    }
+
+    /**
+     * Puts the freshly loaded value of the currency into the cache. If there is no data
+     * to calculate it from, only this cache is evicted: its value is outdated,
+     * but the values of the other caches may be fresh.
+     */
+    private void refreshCache(String name, Currency currency, Supplier<?> loader) {
+        try {
+            getCache(name).put(currency, loader.get());
+        } catch (CurrencyDataNotFoundException e) {
+            log.info("No fresh data for cache {} of currency {}, evicting its value: {}",
+                    name, currency, e.getMessage());
+            getCache(name).evict(currency);
+        }
+    }
+
+    private Cache getCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + name + " isn't configured");
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the latest rate of the currency from the in-memory store,
+     * falling back to the database if the store has none.
+     */
     private ExchangeRate getLatestExchangeRate(Currency currency) {
-        return exchangeRateRepository
-                .findTopByCurrencyOrderByTimestampDesc(currency)
-                .orElseThrow(() -> new CurrencyDataNotFoundException(currency.name()));
+        return rateTimeSeriesStore.findLatest(currency)
+                .or(() -> exchangeRateRepository.findTopByCurrencyOrderByTimestampDesc(currency))
+                .orElseThrow(() -> new CurrencyDataNotFoundException(currency.getAlphaCode()));
+    }
+
+    /**
+     * Appends the raw rates of a bank to the journal. The journal is an auxiliary storage,
+     * so a failure to write it is logged and doesn't interrupt the update.
+     *
+     * @param source    the name of the bank
+     * @param fetchedAt the time of the current update
+     * @param rates     the rates fetched from the bank
+     * @return the same rates, to continue the processing
+     */
+    private List<ExchangeRate> journalRates(
+            String source, LocalDateTime fetchedAt, List<ExchangeRate> rates) {
+        try {
+            rateJournal.append(new RateJournalEntry(source, fetchedAt, rates));
+        } catch (Exception e) {
+            log.error("Couldn't append rates from {} to the journal: {}", source, e.getMessage());
+        }
+        return rates;
     }
 
     /**
@@ -142,7 +342,7 @@ public class ExchangeRateServiceImpl implements ExchangeRateService {
         log.debug("Mapping bank API responses to exchange rate entities...");
         return rates.stream()
                 .map(exchangeRateMapper::toExchangeRate)
-                .filter(rate -> rate.getCurrency() != null)
+                .filter(rate -> trackedCurrencies.contains(rate.getCurrency()))
                 .toList();
     }
 }
@@ -0,0 +1,88 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.service.ExchangeRateVersionService;
+import com.example.privattest.util.TimeProvider;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class ExchangeRateVersionServiceImpl implements ExchangeRateVersionService {
+    private final ExchangeRateService exchangeRateService;
+    private final TimeProvider timeProvider;
+
+    // Published only once the cached data of the version is in place
+    private volatile Map<Currency, LocalDateTime> versions = Map.of();
+
+    @Value("${scheduler.cron.every-hour}")
+    private String updateCron;
+    private CronExpression updateSchedule;
+
+    @PostConstruct
+    public void init() {
+        updateSchedule = CronExpression.parse(updateCron);
+    }
+
+    /**
+     * Takes the versions of the refreshed currencies from the latest rates now cached,
+     * before the other listeners, e.g. the serialized responses, read them.
+     *
+     * @param event the refreshed currencies
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onExchangeRatesRefreshed(ExchangeRatesRefreshedEvent event) {
+        Map<Currency, LocalDateTime> refreshed = new HashMap<>(versions);
+        for (Currency currency : event.currencies()) {
+            try {
+                refreshed.put(currency, exchangeRateService.getLatestRate(currency).timestamp());
+            } catch (CurrencyDataNotFoundException e) {
+                refreshed.remove(currency);
+            }
+        }
+        versions = Map.copyOf(refreshed);
+    }
+
+    @Override
+    public Optional<LocalDateTime> getLastModified(Currency currency) {
+        return Optional.ofNullable(versions.get(currency));
+    }
+
+    @Override
+    public Duration getTimeToLive(LocalDateTime lastModified) {
+        // Counting from the latest rate rather than from now, so the data of a late
+        // or failed ingestion isn't cached for another full period
+        LocalDateTime nextUpdate = updateSchedule.next(lastModified);
+        if (nextUpdate == null) {
+            return Duration.ZERO;
+        }
+        Duration timeToLive = Duration.between(timeProvider.now(), nextUpdate);
+        return timeToLive.isNegative() ? Duration.ZERO : timeToLive;
+    }
+
+    @Override
+    public long toEpochMilli(LocalDateTime lastModified) {
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public String getEtag(Currency currency, LocalDateTime lastModified) {
+        return String.format("W/\"%s-%d\"", currency, toEpochMilli(lastModified));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.journal.RateJournal;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.repository.ExchangeRateRepository;
+import com.example.privattest.service.CalculationService;
+import com.example.privattest.service.JournalReplayService;
+import com.example.privattest.store.RateStoreLoader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JournalReplayServiceImpl implements JournalReplayService {
+    // Keeps the number of bind parameters of a delete statement well within the limits
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final RateJournal rateJournal;
+    private final CalculationService calculationService;
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final RateStoreLoader rateStoreLoader;
+
+    @Override
+    @Transactional
+    public int rebuildExchangeRates(LocalDateTime startTime, LocalDateTime endTime) {
+        log.debug("Rebuilding exchange rates from the journal for period {} - {}",
+                startTime, endTime);
+        // Quotes of one update share the same fetch time, group them back together
+        Map<LocalDateTime, List<ExchangeRate>> updates = new TreeMap<>();
+        rateJournal.replay(entry -> {
+            if (!entry.fetchedAt().isBefore(startTime) && !entry.fetchedAt().isAfter(endTime)) {
+                updates.computeIfAbsent(entry.fetchedAt(), time -> new ArrayList<>())
+                        .addAll(entry.quotes());
+            }
+        });
+
+        List<ExchangeRate> rebuiltRates = new ArrayList<>();
+        updates.forEach((fetchedAt, quotes) -> calculationService
+                .calculateAverageRates(quotes)
+                .values()
+                .forEach(rate -> {
+                    rate.setTimestamp(fetchedAt);
+                    rebuiltRates.add(rate);
+                }));
+
+        // Only the updates found in the journal are replaced, the rows of the other ones
+        // (e.g. saved before the journal existed) can't be rebuilt and are kept
+        int deleted = 0;
+        List<LocalDateTime> fetchTimes = List.copyOf(updates.keySet());
+        for (int from = 0; from < fetchTimes.size(); from += DELETE_BATCH_SIZE) {
+            deleted += exchangeRateRepository.deleteAllByTimestampIn(fetchTimes.subList(
+                    from, Math.min(from + DELETE_BATCH_SIZE, fetchTimes.size())));
+        }
+        exchangeRateRepository.saveAll(rebuiltRates);
+        rateStoreLoader.load();
+        log.info("Rebuilt exchange rates from {} journaled updates. Deleted: {}, saved: {}",
+                updates.size(), deleted, rebuiltRates.size());
+        return rebuiltRates.size();
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 @RequiredArgsConstructor
 @Slf4j
 public class MonoBankApiService implements BankApiService<MonoRateApiResponse> {
+    private static final String BANK_NAME = "monobank";
     private final WebClient webClient;
 
     @Value("${mono.currency.api}")
@@ -36,4 +37,9 @@ public class MonoBankApiService implements BankApiService<MonoRateApiResponse> {
                         ))
                 .toFuture();
     }
+
+    @Override
+    public String getBankName() {
+        return BANK_NAME;
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.dto.PointInTimeRateDto;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.mapper.ExchangeRateMapper;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.repository.ExchangeRateRepository;
+import com.example.privattest.service.PointInTimeRateService;
+import com.example.privattest.store.RateTimeSeriesStore;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link PointInTimeRateService} answering from the in-memory store when it covers
+ * the found rate, and with a floor lookup on the (currency, timestamp) index otherwise.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PointInTimeRateServiceImpl implements PointInTimeRateService {
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final RateTimeSeriesStore rateTimeSeriesStore;
+    private final ExchangeRateMapper exchangeRateMapper;
+
+    @Override
+    public ExchangeRateDto getRateAt(Currency currency, LocalDateTime time) {
+        return findRateAt(currency, time)
+                .map(exchangeRateMapper::toDto)
+                .orElseThrow(() -> new CurrencyDataNotFoundException(
+                        currency + " at " + time
+                ));
+    }
+
+    @Override
+    public List<PointInTimeRateDto> getRatesAt(Currency currency, List<LocalDateTime> times) {
+        Map<LocalDateTime, ExchangeRateDto> ratesByTime = new HashMap<>();
+        for (LocalDateTime time : times) {
+            if (!ratesByTime.containsKey(time)) {
+                ratesByTime.put(time, findRateAt(currency, time)
+                        .map(exchangeRateMapper::toDto)
+                        .orElse(null));
+            }
+        }
+        log.debug("Looked up {} distinct times of currency {}", ratesByTime.size(), currency);
+        return times.stream()
+                .map(time -> new PointInTimeRateDto(time, ratesByTime.get(time)))
+                .toList();
+    }
+
+    private Optional<ExchangeRate> findRateAt(Currency currency, LocalDateTime time) {
+        // A stored rate is the effective one only if no later rate before the time is missing
+        Optional<ExchangeRate> storedRate = rateTimeSeriesStore.findLatestUntil(currency, time)
+                .filter(rate -> rateTimeSeriesStore.covers(currency, rate.getTimestamp()));
+        if (storedRate.isPresent()) {
+            return storedRate;
+        }
+        return exchangeRateRepository
+                .findTopByCurrencyAndTimestampLessThanEqualOrderByTimestampDesc(currency, time);
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 @RequiredArgsConstructor
 @Slf4j
 public class PrivatBankApiService implements BankApiService<PrivatRateApiResponse> {
+    private static final String BANK_NAME = "privatbank";
     private final WebClient webClient;
 
     @Value("${privat.currency.api}")
@@ -36,4 +37,9 @@ public class PrivatBankApiService implements BankApiService<PrivatRateApiRespons
                         ))
                 .toFuture();
     }
+
+    @Override
+    public String getBankName() {
+        return BANK_NAME;
+    }
 }
@@ -0,0 +1,140 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.model.CachedRateResponse;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.RateEndpoint;
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.service.ExchangeRateVersionService;
+import com.example.privattest.service.RateResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link RateResponseCache} refreshed whenever the cached exchange rate data is.
+ *
+ * <p>The responses are kept in maps that are never modified after publication:
+ * a refresh builds new maps and swaps them in, so readers see either the old
+ * or the new responses without any locking. Refreshes are serialized by
+ * a {@link ReentrantLock}: they read the database, and a virtual thread blocked
+ * in {@code synchronized} would pin its carrier thread.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateResponseCacheImpl implements RateResponseCache {
+    private final ExchangeRateService exchangeRateService;
+    private final ExchangeRateVersionService exchangeRateVersionService;
+    private final ObjectMapper objectMapper;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Map<RateEndpoint, Map<Currency, CachedRateResponse>> responses =
+            new EnumMap<>(RateEndpoint.class);
+
+    @Override
+    public CachedRateResponse get(RateEndpoint endpoint, Currency currency) {
+        Map<Currency, CachedRateResponse> responsesByCurrency = responses.get(endpoint);
+        return responsesByCurrency == null ? null : responsesByCurrency.get(currency);
+    }
+
+    @EventListener
+    public void onExchangeRatesRefreshed(ExchangeRatesRefreshedEvent event) {
+        refresh(event.currencies());
+    }
+
+    @Override
+    public void refresh(Iterable<Currency> currencies) {
+        refreshLock.lock();
+        try {
+            rebuild(currencies);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void rebuild(Iterable<Currency> currencies) {
+        Set<Currency> refreshedCurrencies = new HashSet<>();
+        currencies.forEach(refreshedCurrencies::add);
+        Map<RateEndpoint, Map<Currency, CachedRateResponse>> refreshed =
+                new EnumMap<>(RateEndpoint.class);
+        for (RateEndpoint endpoint : RateEndpoint.values()) {
+            Map<Currency, CachedRateResponse> responsesByCurrency = new HashMap<>();
+            // Keep the responses of the currencies that weren't refreshed
+            Map<Currency, CachedRateResponse> current = responses.get(endpoint);
+            if (current != null) {
+                current.forEach((currency, response) -> {
+                    if (!refreshedCurrencies.contains(currency)) {
+                        responsesByCurrency.put(currency, response);
+                    }
+                });
+            }
+            for (Currency currency : refreshedCurrencies) {
+                serialize(endpoint, currency)
+                        .ifPresent(response -> responsesByCurrency.put(currency, response));
+            }
+            refreshed.put(endpoint, responsesByCurrency);
+        }
+        responses = refreshed;
+        log.debug("Serialized responses of currencies {} refreshed", refreshedCurrencies);
+    }
+
+    /**
+     * Serializes the current response of the endpoint for the currency.
+     *
+     * @return the response, or an empty {@link Optional} if there is no data for it;
+     * such requests are handled as usual
+     */
+    private Optional<CachedRateResponse> serialize(RateEndpoint endpoint, Currency currency) {
+        Optional<LocalDateTime> lastModified = exchangeRateVersionService
+                .getLastModified(currency);
+        if (lastModified.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Object body = switch (endpoint) {
+                case LATEST -> exchangeRateService.getLatestRate(currency);
+                case HOURLY_DIFFERENCE -> exchangeRateService.getHourlyDynamics(currency);
+                case DAILY_DYNAMICS -> exchangeRateService.getDailyDynamics(currency);
+            };
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return Optional.of(new CachedRateResponse(
+                    json,
+                    gzip(json),
+                    exchangeRateVersionService.getEtag(currency, lastModified.get()),
+                    lastModified.get(),
+                    exchangeRateVersionService.toEpochMilli(lastModified.get())
+            ));
+        } catch (CurrencyDataNotFoundException e) {
+            return Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Couldn't serialize response of {} for currency {}", endpoint, currency, e);
+            return Optional.empty();
+        }
+    }
+
+    private byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,314 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.dto.CurrencySnapshotDto;
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.service.RateStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * {@link RateStreamService} pushing the rates through {@link SseEmitter}s.
+ *
+ * <p>An idle subscriber holds only its connection: the request is asynchronous,
+ * so no servlet thread waits for the next update. Events are written by a small pool
+ * of sender threads. Each subscriber has at most one pending event, and a newer event
+ * replaces a pending one, so a slow client skips outdated rates instead of
+ * buffering them or holding up the other subscribers.</p>
+ *
+ * <p>The writes are blocking, so a client that stops reading would hold a sender thread
+ * until the socket write timeout of the container. A write that takes longer than
+ * {@code write-timeout} drops its subscriber, whose emitter is completed once the write
+ * returns, and lends the pool a spare thread until then, so stalled clients don't
+ * hold up the others. The rates are calculated on the sender pool too, rather than
+ * on the thread that saved them.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateStreamServiceImpl implements RateStreamService {
+    private static final String RATES_EVENT = "rates";
+
+    private final ExchangeRateService exchangeRateService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor senders;
+    private ScheduledExecutorService watchdog;
+
+    @Value("${exchange-rate.tracked-currencies}")
+    private List<Currency> trackedCurrencies;
+
+    @Value("${rate-stream.timeout}")
+    private Duration timeout;
+
+    @Value("${rate-stream.sender-threads}")
+    private int senderThreads;
+
+    @Value("${rate-stream.write-timeout}")
+    private Duration writeTimeout;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task,
+                            "rate-stream-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        watchdog = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "rate-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("rate.stream.subscribers", subscribers, Set::size)
+                .description("Number of clients subscribed to the live stream of rates")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        watchdog.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    @Override
+    public SseEmitter subscribe(List<Currency> currencies) {
+        // Ordered by the registry, so the snapshot lists the currencies in the same order
+        Set<Currency> followed = new TreeSet<>(Comparator.comparingInt(Currency::getIndex));
+        followed.addAll(currencies == null || currencies.isEmpty()
+                ? trackedCurrencies
+                : currencies);
+        // The stream is closed after the timeout, EventSource clients reconnect by themselves
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, followed);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        List<CurrencySnapshotDto> snapshot = exchangeRateService.getSnapshot(
+                List.copyOf(followed), true);
+        if (!snapshot.isEmpty()) {
+            subscriber.offer(ratesEvent(snapshot));
+        }
+        log.debug("Client subscribed to the rates of {}, {} subscribers in total",
+                followed, subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void onExchangeRatesRefreshed(ExchangeRatesRefreshedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        senders.execute(() -> pushRates(event.currencies()));
+    }
+
+    private void pushRates(List<Currency> currencies) {
+        List<CurrencySnapshotDto> snapshot = exchangeRateService.getSnapshot(currencies, true);
+        // Subscribers following the same currencies share one serialized event
+        Map<Set<Currency>, Set<ResponseBodyEmitter.DataWithMediaType>> events = new HashMap<>();
+        for (Subscriber subscriber : subscribers) {
+            Set<ResponseBodyEmitter.DataWithMediaType> ratesEvent = events.computeIfAbsent(
+                    subscriber.currencies, followedCurrencies -> {
+                        List<CurrencySnapshotDto> followed = snapshot.stream()
+                                .filter(rates -> followedCurrencies.contains(rates.currency()))
+                                .toList();
+                        return followed.isEmpty() ? Set.of() : ratesEvent(followed);
+                    });
+            if (!ratesEvent.isEmpty()) {
+                subscriber.offer(ratesEvent);
+            }
+        }
+        log.debug("Rates of {} pushed to {} subscribers", currencies, subscribers.size());
+    }
+
+    /**
+     * Sends a comment to idle subscribers, so proxies and load balancers
+     * don't close their connections as inactive.
+     */
+    @Scheduled(fixedRateString = "${rate-stream.heartbeat-interval}")
+    public void sendHeartbeats() {
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat =
+                SseEmitter.event().comment("heartbeat").build();
+        subscribers.forEach(subscriber -> subscriber.offerIfIdle(heartbeat));
+    }
+
+    /**
+     * Changes the number of sender threads, while some of them are stuck in a write.
+     */
+    private synchronized void resizeSenders(int delta) {
+        int size = senders.getMaximumPoolSize() + delta;
+        if (delta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> ratesEvent(
+            List<CurrencySnapshotDto> rates) {
+        try {
+            return SseEmitter.event()
+                    .name(RATES_EVENT)
+                    .data(objectMapper.writeValueAsString(rates), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Couldn't serialize the rates event", e);
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Currency> currencies;
+        private final AtomicReference<Set<ResponseBodyEmitter.DataWithMediaType>> pending =
+                new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        /**
+         * Whether a write is in progress and whether it has outlived the write timeout,
+         * guarded by the subscriber.
+         */
+        private boolean writing;
+        private boolean stalled;
+
+        private Subscriber(SseEmitter emitter, Set<Currency> currencies) {
+            this.emitter = emitter;
+            this.currencies = currencies;
+        }
+
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            pending.set(event);
+            schedule();
+        }
+
+        private void offerIfIdle(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (pending.compareAndSet(null, event)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while ((event = pending.getAndSet(null)) != null) {
+                    if (!write(event)) {
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client is gone, or the emitter has already completed
+                log.debug("Couldn't push rates to a subscriber: {}", e.getMessage());
+                subscribers.remove(this);
+                pending.set(null);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // An event offered after the loop but before the flag was reset
+            if (pending.get() != null) {
+                schedule();
+            }
+        }
+
+        /**
+         * Sends the event, bounded by the write timeout.
+         *
+         * @return whether the subscriber may be sent further events
+         */
+        private boolean write(Set<ResponseBodyEmitter.DataWithMediaType> event)
+                throws IOException {
+            synchronized (this) {
+                writing = true;
+            }
+            ScheduledFuture<?> expiry = watchdog.schedule(
+                    this::expire, writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            boolean expired;
+            try {
+                emitter.send(event);
+            } finally {
+                expiry.cancel(false);
+                expired = finishWrite();
+            }
+            if (expired) {
+                emitter.complete();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Ends the write and takes back the spare thread lent while it was stalled.
+         *
+         * @return whether the write has outlived the write timeout
+         */
+        private synchronized boolean finishWrite() {
+            writing = false;
+            if (stalled) {
+                resizeSenders(-1);
+            }
+            return stalled;
+        }
+
+        private synchronized void expire() {
+            if (!writing || stalled) {
+                return;
+            }
+            stalled = true;
+            log.debug("A subscriber hasn't taken an event for {}, dropping it", writeTimeout);
+            subscribers.remove(this);
+            pending.set(null);
+            resizeSenders(1);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.config.CacheNames;
+import com.example.privattest.dto.CurrencySnapshotDto;
+import com.example.privattest.dto.DynamicDetailsDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.mapper.ExchangeRateMapper;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.repository.ReactiveExchangeRateRepository;
+import com.example.privattest.service.CalculationService;
+import com.example.privattest.service.ReactiveExchangeRateService;
+import com.example.privattest.store.RateTimeSeriesStore;
+import com.example.privattest.util.CacheRefreshGuard;
+import com.example.privattest.util.TimeProvider;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveExchangeRateService} reading the caches and the in-memory store first,
+ * like the blocking service does, and the database through R2DBC only on a miss.
+ * Values loaded on a miss are put into the caches, which the ingestion keeps up to date.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveExchangeRateServiceImpl implements ReactiveExchangeRateService {
+    private final ReactiveExchangeRateRepository reactiveExchangeRateRepository;
+    private final RateTimeSeriesStore rateTimeSeriesStore;
+    private final CalculationService calculationService;
+    private final ExchangeRateMapper exchangeRateMapper;
+    private final TimeProvider timeProvider;
+    private final CacheManager cacheManager;
+    private final CacheRefreshGuard cacheRefreshGuard;
+
+    @Value("${max.minutes.difference-between-rates}")
+    private Long maxDifference;
+
+    @Value("${exchange-rate.tracked-currencies}")
+    private List<Currency> trackedCurrencies;
+
+    @Override
+    public Mono<ExchangeRateDto> getLatestRate(Currency currency) {
+        return cached(CacheNames.EXCHANGE_RATES, currency, () -> getLatestExchangeRate(currency)
+                .map(exchangeRateMapper::toDto));
+    }
+
+    @Override
+    public Mono<DynamicDetailsDto> getHourlyDynamics(Currency currency) {
+        return cached(CacheNames.DYNAMIC_DETAILS, currency, () -> getLatestExchangeRate(currency)
+                .flatMap(latestRate -> {
+                    LocalDateTime oneHourAgo = latestRate.getTimestamp()
+                            .minusMinutes(maxDifference);
+                    LocalDateTime beforeLatest = latestRate.getTimestamp().minusMinutes(1);
+                    Mono<ExchangeRate> previousRate = rateTimeSeriesStore
+                            .covers(currency, oneHourAgo)
+                            ? Mono.justOrEmpty(rateTimeSeriesStore.findLatestBetween(
+                                    currency, oneHourAgo, beforeLatest))
+                            : reactiveExchangeRateRepository
+                                    .findTopByCurrencyAndTimestampBetweenOrderByTimestampDesc(
+                                            currency, oneHourAgo, beforeLatest);
+                    return previousRate
+                            .switchIfEmpty(Mono.error(() -> new CurrencyDataNotFoundException(
+                                    "For the last hour for currency " + currency)))
+                            .map(oldRate -> calculationService
+                                    .calculateDynamicDetails(currency, oldRate, latestRate));
+                }));
+    }
+
+    @Override
+    public Mono<List<DynamicDetailsDto>> getDailyDynamics(Currency currency) {
+        return cached(CacheNames.DYNAMIC_DETAILS_LIST, currency, () -> {
+            LocalDateTime startOfDay = timeProvider.today().atStartOfDay();
+            LocalDateTime endOfDay = startOfDay.plusDays(1).minusNanos(1);
+            Mono<List<ExchangeRate>> exchangeRates = rateTimeSeriesStore
+                    .covers(currency, startOfDay)
+                    ? Mono.just(rateTimeSeriesStore.findAllBetween(currency, startOfDay, endOfDay))
+                    : reactiveExchangeRateRepository
+                            .findAllByCurrencyAndTimestampBetweenOrderByTimestampDesc(
+                                    currency, startOfDay, endOfDay)
+                            .collectList();
+            return exchangeRates.flatMap(rates -> rates.isEmpty()
+                    ? Mono.error(new CurrencyDataNotFoundException(String.format(
+                            "No data for currency %s for today", currency)))
+                    : Mono.just(calculationService.calculateDailyDynamics(currency, rates)));
+        });
+    }
+
+    @Override
+    public Mono<List<CurrencySnapshotDto>> getSnapshot(
+            List<Currency> currencies, boolean withHourlyDynamics) {
+        return Mono.defer(() -> {
+            List<Currency> requested = currencies == null || currencies.isEmpty()
+                    ? trackedCurrencies
+                    : currencies.stream().distinct().toList();
+            Cache latestRatesCache = getCache(CacheNames.EXCHANGE_RATES);
+            long generation = cacheRefreshGuard.generation();
+            Map<Currency, ExchangeRateDto> latestRates = new HashMap<>();
+            List<String> misses = new ArrayList<>();
+            for (Currency currency : requested) {
+                ExchangeRateDto cachedRate = latestRatesCache.get(currency, ExchangeRateDto.class);
+                Optional<ExchangeRateDto> latestRate = cachedRate != null
+                        ? Optional.of(cachedRate)
+                        : rateTimeSeriesStore.findLatest(currency).map(exchangeRateMapper::toDto);
+                latestRate.ifPresentOrElse(rate -> latestRates.put(currency, rate),
+                        () -> misses.add(currency.getAlphaCode()));
+            }
+            Flux<ExchangeRate> missingRates = misses.isEmpty()
+                    ? Flux.empty()
+                    : reactiveExchangeRateRepository.findLatestOfCurrencies(misses);
+            return missingRates
+                    .doOnNext(rate -> {
+                        ExchangeRateDto latestRate = exchangeRateMapper.toDto(rate);
+                        cacheRefreshGuard.putLoaded(
+                                latestRatesCache, rate.getCurrency(), latestRate, generation);
+                        latestRates.put(rate.getCurrency(), latestRate);
+                    })
+                    .thenMany(Flux.fromIterable(requested))
+                    .filter(latestRates::containsKey)
+                    .concatMap(currency -> findHourlyDynamics(currency, withHourlyDynamics)
+                            .map(hourlyDynamics -> new CurrencySnapshotDto(
+                                    currency,
+                                    latestRates.get(currency),
+                                    hourlyDynamics.orElse(null)
+                            )))
+                    .collectList();
+        });
+    }
+
+    private Mono<Optional<DynamicDetailsDto>> findHourlyDynamics(
+            Currency currency, boolean withHourlyDynamics) {
+        if (!withHourlyDynamics) {
+            return Mono.just(Optional.empty());
+        }
+        return getHourlyDynamics(currency)
+                .map(Optional::of)
+                .onErrorReturn(CurrencyDataNotFoundException.class, Optional.empty());
+    }
+
+    /**
+     * Returns the cached value of the currency, or loads it and puts it into the cache
+     * unless the caches were refreshed meanwhile, see {@link CacheRefreshGuard}.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> cached(String cacheName, Currency currency, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            Cache cache = getCache(cacheName);
+            Cache.ValueWrapper cachedValue = cache.get(currency);
+            if (cachedValue != null && cachedValue.get() != null) {
+                return Mono.just((T) cachedValue.get());
+            }
+            long generation = cacheRefreshGuard.generation();
+            return loader.get().doOnNext(
+                    value -> cacheRefreshGuard.putLoaded(cache, currency, value, generation));
+        });
+    }
+
+    private Cache getCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache " + name + " isn't configured");
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the latest rate of the currency from the in-memory store,
+     * falling back to the database if the store has none.
+     */
+    private Mono<ExchangeRate> getLatestExchangeRate(Currency currency) {
+        return Mono.justOrEmpty(rateTimeSeriesStore.findLatest(currency))
+                .switchIfEmpty(Mono.defer(() -> reactiveExchangeRateRepository
+                        .findTopByCurrencyOrderByTimestampDesc(currency)))
+                .switchIfEmpty(Mono.error(() ->
+                        new CurrencyDataNotFoundException(currency.getAlphaCode())));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.privattest.service.impl;
+
+import com.example.privattest.service.SchedulerLockService;
+import com.example.privattest.util.InstanceId;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link SchedulerLockService} keeping the leases in the {@code scheduler_lock} table.
+ * All times are taken from the database clock and stored with the time zone,
+ * so neither the clocks nor the time zones of the instances have to agree.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SchedulerLockServiceImpl implements SchedulerLockService {
+    // Inserts the lease, or takes over an expired one; no row is touched if it is still held
+    private static final String LOCK_SQL = """
+            insert into scheduler_lock (name, locked_until, locked_at, locked_by)
+            values (?, now() + make_interval(secs => ?), now(), ?)
+            on conflict (name) do update
+            set locked_until = excluded.locked_until,
+                locked_at = excluded.locked_at,
+                locked_by = excluded.locked_by
+            where scheduler_lock.locked_until <= now()
+            """;
+    private static final String UNLOCK_SQL = """
+            update scheduler_lock
+            set locked_until = greatest(now(), locked_at + make_interval(secs => ?))
+            where name = ? and locked_by = ?
+            """;
+    private static final String INSTANCE_ID = InstanceId.get();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${scheduler.lock.at-most}")
+    private Duration lockAtMost;
+
+    @Value("${scheduler.lock.at-least}")
+    private Duration lockAtLeast;
+
+    @Override
+    public boolean tryLock(String name) {
+        boolean locked = jdbcTemplate.update(
+                LOCK_SQL, name, (double) lockAtMost.toSeconds(), INSTANCE_ID) > 0;
+        log.debug("Lock {} {} by instance {}", name, locked ? "acquired" : "is held", INSTANCE_ID);
+        return locked;
+    }
+
+    @Override
+    public void unlock(String name) {
+        int released = jdbcTemplate.update(
+                UNLOCK_SQL, (double) lockAtLeast.toSeconds(), name, INSTANCE_ID);
+        if (released == 0) {
+            log.warn("Lock {} had expired and was taken over before instance {} released it",
+                    name, INSTANCE_ID);
+        }
+    }
+}
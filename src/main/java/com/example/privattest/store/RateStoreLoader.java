@@ -0,0 +1,101 @@
+package com.example.privattest.store;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.repository.ExchangeRateRepository;
+import com.example.privattest.util.TimeProvider;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the {@link RateTimeSeriesStore} with the rates of the configured window
+ * from the database when the application starts.
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+@Slf4j
+public class RateStoreLoader implements ApplicationRunner {
+    private final RateTimeSeriesStore rateTimeSeriesStore;
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final TimeProvider timeProvider;
+
+    @Value("${store.enabled}")
+    private boolean enabled;
+
+    @Value("${store.window}")
+    private Duration window;
+
+    @Value("${exchange-rate.tracked-currencies}")
+    private List<Currency> trackedCurrencies;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    /**
+     * Reloads the store with the rates of the last window from the database.
+     * If the store is disabled, it is a no-op one and all reads go to the database,
+     * so nothing is loaded.
+     */
+    public void load() {
+        if (!enabled) {
+            log.info("In-memory store of exchange rates is disabled");
+            return;
+        }
+        LocalDateTime windowStart = timeProvider.now().minus(window);
+        log.debug("Loading exchange rates since {} into the store...", windowStart);
+        Map<Currency, List<ExchangeRate>> ratesByCurrency = exchangeRateRepository
+                .findAllByTimestampGreaterThanEqualOrderByTimestampAsc(windowStart)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        ExchangeRate::getCurrency,
+                        HashMap::new,
+                        Collectors.toList()
+                ));
+        for (Currency currency : trackedCurrencies) {
+            rateTimeSeriesStore.load(
+                    currency, ratesByCurrency.getOrDefault(currency, List.of()), windowStart
+            );
+        }
+    }
+
+    /**
+     * Appends the rates saved to the database after the latest stored ones,
+     * e.g. by another instance of the application.
+     *
+     * @return {@code true} if any rates were appended
+     */
+    public boolean catchUp() {
+        if (!enabled) {
+            return false;
+        }
+        boolean appended = false;
+        for (Currency currency : trackedCurrencies) {
+            LocalDateTime after = rateTimeSeriesStore.findLatest(currency)
+                    .map(ExchangeRate::getTimestamp)
+                    .orElseGet(() -> timeProvider.now().minus(window));
+            List<ExchangeRate> rates = exchangeRateRepository
+                    .findAllByCurrencyAndTimestampGreaterThanOrderByTimestampAsc(currency, after);
+            rates.forEach(rateTimeSeriesStore::add);
+            if (!rates.isEmpty()) {
+                log.info("Appended {} rates of currency {} saved since {} to the store",
+                        rates.size(), currency, after);
+                appended = true;
+            }
+        }
+        return appended;
+    }
+}
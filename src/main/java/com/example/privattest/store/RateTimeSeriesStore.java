@@ -0,0 +1,84 @@
+package com.example.privattest.store;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory store of the recent exchange rates of every currency.
+ * It is the primary source for reads of recent data, the database is queried
+ * only for periods the store doesn't cover.
+ */
+public interface RateTimeSeriesStore {
+    /**
+     * Replaces the stored rates of the currency with the given ones.
+     *
+     * @param currency    the {@link Currency} to load the rates for
+     * @param rates       all rates of the currency recorded since {@code coveredFrom},
+     *                    sorted from oldest to newest
+     * @param coveredFrom the time since which the given rates are complete
+     */
+    void load(Currency currency, List<ExchangeRate> rates, LocalDateTime coveredFrom);
+
+    /**
+     * Appends a newly saved rate. Rates older than the latest stored one are ignored.
+     *
+     * @param rate the saved {@link ExchangeRate}
+     */
+    void add(ExchangeRate rate);
+
+    /**
+     * Checks whether the store holds every rate of the currency recorded since the given time,
+     * so queries for later periods can be answered without the database.
+     *
+     * @param currency the {@link Currency} to check
+     * @param from     the beginning of the period to be queried
+     * @return {@code true} if the whole period starting at {@code from} is in the store
+     */
+    boolean covers(Currency currency, LocalDateTime from);
+
+    /**
+     * Returns the latest stored rate of the currency.
+     *
+     * @param currency the {@link Currency} to get the rate for
+     * @return the latest rate, or an empty {@link Optional} if nothing is stored
+     */
+    Optional<ExchangeRate> findLatest(Currency currency);
+
+    /**
+     * Returns the latest stored rate of the currency recorded in the given period.
+     *
+     * @param currency  the {@link Currency} to get the rate for
+     * @param startTime the beginning of the period, inclusive
+     * @param endTime   the end of the period, inclusive
+     * @return the latest rate in the period, or an empty {@link Optional} if there is none
+     */
+    Optional<ExchangeRate> findLatestBetween(
+            Currency currency, LocalDateTime startTime, LocalDateTime endTime
+    );
+
+    /**
+     * Returns the latest stored rate of the currency recorded not after the given time.
+     * It is the effective rate at that time only if the store {@link #covers} its timestamp,
+     * otherwise a later rate may be missing from the store.
+     *
+     * @param currency the {@link Currency} to get the rate for
+     * @param time     the time to get the rate at, inclusive
+     * @return the latest rate not after the time, or an empty {@link Optional} if there is none
+     */
+    Optional<ExchangeRate> findLatestUntil(Currency currency, LocalDateTime time);
+
+    /**
+     * Returns all stored rates of the currency recorded in the given period.
+     *
+     * @param currency  the {@link Currency} to get the rates for
+     * @param startTime the beginning of the period, inclusive
+     * @param endTime   the end of the period, inclusive
+     * @return the rates sorted from newest to oldest
+     */
+    List<ExchangeRate> findAllBetween(
+            Currency currency, LocalDateTime startTime, LocalDateTime endTime
+    );
+}
@@ -0,0 +1,54 @@
+package com.example.privattest.store.impl;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.store.RateTimeSeriesStore;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link RateTimeSeriesStore} used when the in-memory store is disabled
+ * ({@code store.enabled=false}). It keeps nothing and covers no period,
+ * so every read goes to the database.
+ */
+@Component
+@ConditionalOnProperty(name = "store.enabled", havingValue = "false")
+public class NoOpRateTimeSeriesStore implements RateTimeSeriesStore {
+    @Override
+    public void load(Currency currency, List<ExchangeRate> rates, LocalDateTime coveredFrom) {
+    }
+
+    @Override
+    public void add(ExchangeRate rate) {
+    }
+
+    @Override
+    public boolean covers(Currency currency, LocalDateTime from) {
+        return false;
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatest(Currency currency) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestBetween(
+            Currency currency, LocalDateTime startTime, LocalDateTime endTime) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestUntil(Currency currency, LocalDateTime time) {
+        return Optional.empty();
+    }
+
+    @Override
+    public List<ExchangeRate> findAllBetween(
+            Currency currency, LocalDateTime startTime, LocalDateTime endTime) {
+        return List.of();
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.privattest.store.impl;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.store.RateTimeSeriesStore;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link RateTimeSeriesStore} keeping the rates of every currency in a ring buffer
+ * of primitive arrays: timestamps as epoch microseconds and rates as fixed-point longs
+ * with the scale of the database column.
+ *
+ * <p>Writes are rare (one per currency per update) and serialized by a lock.
+ * Reads take no locks: a writer fills a slot before publishing it through the volatile
+ * {@code head}, and a reader re-checks {@code head} after reading to detect slots
+ * that were overwritten in the meantime (or are being overwritten).</p>
+ */
+@Component
+@ConditionalOnProperty(name = "store.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RingBufferRateTimeSeriesStore implements RateTimeSeriesStore {
+    private static final int RATE_SCALE = 6;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int NANOS_PER_MICRO = 1_000;
+
+    private final Object writeLock = new Object();
+    private final AtomicReferenceArray<Series> seriesByCurrency =
+            new AtomicReferenceArray<>(Currency.values().size());
+
+    @Value("${store.capacity}")
+    private int capacity;
+
+    @Override
+    public void load(Currency currency, List<ExchangeRate> rates, LocalDateTime coveredFrom) {
+        synchronized (writeLock) {
+            Series loaded = new Series(capacity, toEpochMicros(coveredFrom));
+            rates.forEach(rate -> append(loaded, rate));
+            // Keep the rates added while the given ones were being read from the database
+            Series current = seriesByCurrency.get(currency.getIndex());
+            if (current != null) {
+                long head = current.head;
+                for (long sequence = current.oldestSequence(head); sequence < head; sequence++) {
+                    int slot = current.slot(sequence);
+                    if (loaded.isEmpty()
+                            || current.timestamps[slot] > loaded.latestTimestamp()) {
+                        loaded.append(current.ids[slot], current.timestamps[slot],
+                                current.buys[slot], current.sells[slot]);
+                    }
+                }
+            }
+            seriesByCurrency.set(currency.getIndex(), loaded);
+            log.info("Loaded {} rates of currency {} into the store", loaded.head, currency);
+        }
+    }
+
+    @Override
+    public void add(ExchangeRate rate) {
+        synchronized (writeLock) {
+            Series series = seriesByCurrency.get(rate.getCurrency().getIndex());
+            if (series == null) {
+                // Nothing is known about the earlier rates, so the store covers nothing yet
+                series = new Series(capacity, Long.MAX_VALUE);
+                seriesByCurrency.set(rate.getCurrency().getIndex(), series);
+            }
+            if (!series.isEmpty()
+                    && series.latestTimestamp() > toEpochMicros(rate.getTimestamp())) {
+                log.debug("Rate {} is older than the latest stored one, skipping it", rate);
+                return;
+            }
+            append(series, rate);
+        }
+    }
+
+    @Override
+    public boolean covers(Currency currency, LocalDateTime from) {
+        Series series = seriesByCurrency.get(currency.getIndex());
+        return series != null && toEpochMicros(from) >= series.coveredFrom;
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatest(Currency currency) {
+        Series series = seriesByCurrency.get(currency.getIndex());
+        if (series == null) {
+            return Optional.empty();
+        }
+        while (true) {
+            long head = series.head;
+            if (head == 0) {
+                return Optional.empty();
+            }
+            ExchangeRate rate = series.read(currency, head - 1);
+            if (series.isIntact(head - 1)) {
+                return Optional.of(rate);
+            }
+        }
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestBetween(
+            Currency currency, LocalDateTime startTime, LocalDateTime endTime) {
+        Series series = seriesByCurrency.get(currency.getIndex());
+        if (series == null) {
+            return Optional.empty();
+        }
+        long start = toEpochMicros(startTime);
+        long end = toEpochMicros(endTime);
+        while (true) {
+            long sequence = series.floor(series.head, end);
+            if (sequence < 0) {
+                return Optional.empty();
+            }
+            ExchangeRate rate = series.read(currency, sequence);
+            boolean inPeriod = series.timestamps[series.slot(sequence)] >= start;
+            if (series.isIntact(sequence)) {
+                return inPeriod ? Optional.of(rate) : Optional.empty();
+            }
+        }
+    }
+
+    @Override
+    public Optional<ExchangeRate> findLatestUntil(Currency currency, LocalDateTime time) {
+        Series series = seriesByCurrency.get(currency.getIndex());
+        if (series == null) {
+            return Optional.empty();
+        }
+        long end = toEpochMicros(time);
+        while (true) {
+            long sequence = series.floor(series.head, end);
+            if (sequence < 0) {
+                return Optional.empty();
+            }
+            ExchangeRate rate = series.read(currency, sequence);
+            if (series.isIntact(sequence)) {
+                return Optional.of(rate);
+            }
+        }
+    }
+
+    @Override
+    public List<ExchangeRate> findAllBetween(
+            Currency currency, LocalDateTime startTime, LocalDateTime endTime) {
+        Series series = seriesByCurrency.get(currency.getIndex());
+        if (series == null) {
+            return List.of();
+        }
+        long start = toEpochMicros(startTime);
+        long end = toEpochMicros(endTime);
+        while (true) {
+            long head = series.head;
+            long oldest = series.oldestSequence(head);
+            List<ExchangeRate> rates = new ArrayList<>();
+            long oldestRead = head;
+            for (long sequence = series.floor(head, end); sequence >= oldest; sequence--) {
+                if (series.timestamps[series.slot(sequence)] < start) {
+                    break;
+                }
+                rates.add(series.read(currency, sequence));
+                oldestRead = sequence;
+            }
+            if (oldestRead == head || series.isIntact(oldestRead)) {
+                return rates;
+            }
+        }
+    }
+
+    private void append(Series series, ExchangeRate rate) {
+        series.append(
+                rate.getId() == null ? 0 : rate.getId(),
+                toEpochMicros(rate.getTimestamp()),
+                toFixedPoint(rate.getRateBuy()),
+                toFixedPoint(rate.getRateSell())
+        );
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND
+                + time.getNano() / NANOS_PER_MICRO;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * NANOS_PER_MICRO,
+                ZoneOffset.UTC
+        );
+    }
+
+    private static long toFixedPoint(BigDecimal value) {
+        return value.setScale(RATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Ring buffer of the rates of one currency. Sequences grow monotonically,
+     * a sequence is mapped to a slot of the arrays by masking its lower bits.
+     * The slot of the oldest sequence is the next one to be overwritten, so only
+     * the latest {@code capacity - 1} rates are readable.
+     */
+    private static final class Series {
+        private final long[] ids;
+        private final long[] timestamps;
+        private final long[] buys;
+        private final long[] sells;
+        private final int capacity;
+        private final int mask;
+        /**
+         * The number of rates ever appended, the sequence of the next one.
+         */
+        private volatile long head;
+        /**
+         * Epoch microseconds since which the series holds every rate of the currency.
+         */
+        private volatile long coveredFrom;
+
+        private Series(int requestedCapacity, long coveredFrom) {
+            // One slot more than requested, it is the one being overwritten
+            int size = 2;
+            while (size <= requestedCapacity) {
+                size <<= 1;
+            }
+            this.capacity = size;
+            this.mask = size - 1;
+            this.ids = new long[size];
+            this.timestamps = new long[size];
+            this.buys = new long[size];
+            this.sells = new long[size];
+            this.coveredFrom = coveredFrom;
+        }
+
+        private void append(long id, long timestamp, long buy, long sell) {
+            long sequence = head;
+            int slot = slot(sequence);
+            long dropped = sequence - capacity + 1;
+            if (dropped >= 0) {
+                // The oldest readable rate is about to become unreadable,
+                // the period before it isn't covered
+                coveredFrom = Math.max(coveredFrom, timestamps[slot(dropped)] + 1);
+            }
+            ids[slot] = id;
+            timestamps[slot] = timestamp;
+            buys[slot] = buy;
+            sells[slot] = sell;
+            head = sequence + 1;
+        }
+
+        private int slot(long sequence) {
+            return (int) (sequence & mask);
+        }
+
+        private boolean isEmpty() {
+            return head == 0;
+        }
+
+        private long latestTimestamp() {
+            return timestamps[slot(head - 1)];
+        }
+
+        private long oldestSequence(long head) {
+            return Math.max(0, head - capacity + 1);
+        }
+
+        /**
+         * Checks that the slot of the sequence (and of every later one) hasn't been
+         * overwritten since it was read, and isn't being overwritten: the slot of
+         * {@code head - capacity} is written before {@code head} moves on.
+         */
+        private boolean isIntact(long sequence) {
+            // The slots must be read before head is re-read
+            VarHandle.acquireFence();
+            return head - sequence < capacity;
+        }
+
+        /**
+         * Finds the latest sequence with a timestamp not after the given one.
+         *
+         * @return the sequence, or -1 if all stored rates are later
+         */
+        private long floor(long head, long timestamp) {
+            long low = oldestSequence(head);
+            long high = head - 1;
+            long result = -1;
+            while (low <= high) {
+                long middle = (low + high) >>> 1;
+                if (timestamps[slot(middle)] <= timestamp) {
+                    result = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return result;
+        }
+
+        private ExchangeRate read(Currency currency, long sequence) {
+            int slot = slot(sequence);
+            long id = ids[slot];
+            return new ExchangeRate(
+                    id == 0 ? null : id,
+                    currency,
+                    BigDecimal.valueOf(buys[slot], RATE_SCALE),
+                    BigDecimal.valueOf(sells[slot], RATE_SCALE),
+                    fromEpochMicros(timestamps[slot])
+            );
+        }
+    }
+}
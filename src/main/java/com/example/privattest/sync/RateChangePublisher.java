@@ -0,0 +1,13 @@
+package com.example.privattest.sync;
+
+/**
+ * Publisher of the changes of exchange rates to the other instances of the application.
+ * On receipt, every instance reloads the new rates into its in-memory store
+ * and refreshes its caches.
+ */
+public interface RateChangePublisher {
+    /**
+     * Notifies the other instances that new exchange rates were saved to the database.
+     */
+    void publishRatesSaved();
+}
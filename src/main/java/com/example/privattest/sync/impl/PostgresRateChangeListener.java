@@ -0,0 +1,130 @@
+package com.example.privattest.sync.impl;
+
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.store.RateStoreLoader;
+import com.example.privattest.util.InstanceId;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens to the notifications of {@link PostgresRateChangePublisher} on a dedicated
+ * connection and thread, and brings the in-memory store and the caches of this instance
+ * up to date when another instance saves new rates.
+ *
+ * <p>Notifications sent while the connection is down are lost. The periodic synchronization
+ * of {@link com.example.privattest.scheduler.ExchangeRateUpdateScheduler} catches up
+ * on them later.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresRateChangeListener implements SmartLifecycle {
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private final DataSource dataSource;
+    private final RateStoreLoader rateStoreLoader;
+    private final ExchangeRateService exchangeRateService;
+    private volatile boolean running;
+    private Thread thread;
+
+    @Value("${rate-change.channel}")
+    private String channel;
+
+    @Value("${rate-change.reconnect-delay}")
+    private Duration reconnectDelay;
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::listen, "rate-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(POLL_TIMEOUT_MILLIS * 2L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Refreshes the local data if any of the received notifications came from another instance.
+     *
+     * @param notifications the notifications received since the previous poll.
+     */
+    public void handle(PGNotification[] notifications) {
+        boolean changedByOthers = Arrays.stream(notifications)
+                .anyMatch(notification -> !InstanceId.get().equals(notification.getParameter()));
+        if (!changedByOthers) {
+            return;
+        }
+        log.info("Exchange rates were updated by another instance, refreshing local data");
+        try {
+            rateStoreLoader.catchUp();
+            exchangeRateService.refreshCaches();
+        } catch (RuntimeException e) {
+            log.error("Couldn't refresh local data after a change notification: {}",
+                    e.getMessage());
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    // A channel name is an identifier, it can't be passed as a parameter
+                    statement.execute("listen " + channel);
+                }
+                log.info("Listening to changes of exchange rates on channel {}", channel);
+                while (running) {
+                    PGNotification[] notifications =
+                            pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null && notifications.length > 0) {
+                        handle(notifications);
+                    }
+                }
+                // The connection goes back to the pool, it must not keep receiving notifications
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("unlisten *");
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Listening to changes of exchange rates failed, "
+                            + "reconnecting in {}: {}", reconnectDelay, e.getMessage());
+                    sleep(reconnectDelay);
+                }
+            }
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
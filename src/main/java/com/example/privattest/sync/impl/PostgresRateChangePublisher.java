@@ -0,0 +1,32 @@
+package com.example.privattest.sync.impl;
+
+import com.example.privattest.sync.RateChangePublisher;
+import com.example.privattest.util.InstanceId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link RateChangePublisher} sending a PostgreSQL notification, received by
+ * the {@link PostgresRateChangeListener} of every instance.
+ * The payload is the id of the sending instance, so it can ignore its own notifications.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresRateChangePublisher implements RateChangePublisher {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${rate-change.channel}")
+    private String channel;
+
+    @Override
+    public void publishRatesSaved() {
+        // The statement runs in its own transaction, so the notification is delivered at once
+        jdbcTemplate.query("select pg_notify(?, ?)", resultSet -> null,
+                channel, InstanceId.get());
+        log.debug("Published the change of exchange rates to channel {}", channel);
+    }
+}
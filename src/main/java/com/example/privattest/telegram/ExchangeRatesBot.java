@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
 import org.telegram.telegrambots.meta.api.objects.Update;
@@ -27,8 +28,9 @@ public class ExchangeRatesBot extends TelegramLongPollingBot {
     private String botName;
 
     public ExchangeRatesBot(@Value("${telegram.bot.token}") String botToken,
+                            @Value("${telegram.bot.api-url}") String apiUrl,
                             @Autowired UserChatIdService userChatIdService) {
-        super(botToken);
+        super(botOptions(apiUrl), botToken);
         this.userChatIdService = userChatIdService;
     }
 
@@ -76,12 +78,12 @@ public class ExchangeRatesBot extends TelegramLongPollingBot {
     }
 
     /**
-     * Sends the updated exchange rates to the user.
+     * Renders the message with the updated exchange rates, the same for every user.
      *
-     * @param chatId        the unique chat ID of the user
      * @param exchangeRates a list of exchange rates to send
+     * @return the text of the message
      */
-    public void sendCurrencyData(Long chatId, List<ExchangeRate> exchangeRates) {
+    public String renderCurrencyData(List<ExchangeRate> exchangeRates) {
         String text = """
                 Оновлені курси валют:
                 %s
@@ -89,12 +91,18 @@ public class ExchangeRatesBot extends TelegramLongPollingBot {
         // Format the exchange rates as a string
         String currencyDataString = exchangeRates.stream()
                 .map(rate -> String.format("%s \n Покупка: %s, Продаж: %s",
-                        rate.getCurrency().name(),
+                        rate.getCurrency().getAlphaCode(),
                         rate.getRateBuy(),
                         rate.getRateSell())
                 ).collect(Collectors.joining("\n"));
 
-        sendMessage(chatId, String.format(text, currencyDataString));
+        return String.format(text, currencyDataString);
+    }
+
+    private static DefaultBotOptions botOptions(String apiUrl) {
+        DefaultBotOptions options = new DefaultBotOptions();
+        options.setBaseUrl(apiUrl);
+        return options;
     }
 
     /**
@@ -0,0 +1,80 @@
+package com.example.privattest.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the values loaded by readers on a cache miss from overwriting the values
+ * put by a refresh of the caches.
+ * <p>
+ * A reader's load may read the rates before an ingestion saves new ones and finish
+ * after the caches have been refreshed with them; putting its value then would serve
+ * stale data until it expires. Every refresh therefore starts a new generation, and
+ * a loaded value is put only if no refresh has started since its load did.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * long generation = cacheRefreshGuard.generation();
+ * ExchangeRateDto rate = loadLatestRate(currency);
+ * cacheRefreshGuard.putLoaded(cache, currency, rate, generation);
+ * }
+ * </pre>
+ */
+@Component
+public class CacheRefreshGuard {
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile long generation;
+
+    /**
+     * Returns the current generation, to be taken before a load starts.
+     *
+     * @return the number of refreshes started so far
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Runs a refresh of the caches as a new generation. The values of the loads
+     * in flight are not put meanwhile.
+     *
+     * @param refresh puts the fresh values into the caches
+     */
+    public void refresh(Runnable refresh) {
+        refreshLock.lock();
+        try {
+            generation++;
+            refresh.run();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Puts the value loaded by a reader, unless a refresh has started since the load.
+     *
+     * @param cache          the cache to put the value into
+     * @param key            the key of the value
+     * @param value          the loaded value
+     * @param loadGeneration the {@link #generation()} taken before the load started
+     * @return {@code true} if the value was put
+     */
+    public boolean putLoaded(Cache cache, Object key, Object value, long loadGeneration) {
+        // A refresh in progress puts fresher values, so the loaded one isn't waited to be put
+        if (!refreshLock.tryLock()) {
+            return false;
+        }
+        try {
+            if (generation != loadGeneration) {
+                return false;
+            }
+            cache.put(key, value);
+            return true;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.privattest.util;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Identifier of the running instance of the application, unique among the instances
+ * sharing the database.
+ */
+public final class InstanceId {
+    // "pid@hostname"
+    private static final String VALUE = ManagementFactory.getRuntimeMXBean().getName();
+
+    private InstanceId() {
+    }
+
+    public static String get() {
+        return VALUE;
+    }
+}
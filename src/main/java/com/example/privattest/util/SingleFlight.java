@@ -0,0 +1,71 @@
+package com.example.privattest.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key into one.
+ * <p>
+ * The first caller of {@link #execute(Object, Supplier)} for a key runs the computation,
+ * callers arriving while it is in flight wait for it and receive the same result
+ * or the same exception. Once the computation completes, the next call for the key
+ * starts a new one, so results are never kept longer than the computation lasts.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * SingleFlight<Currency, ExchangeRateDto> latestRates = new SingleFlight<>();
+ * ExchangeRateDto rate = latestRates.execute(currency, () -> loadLatestRate(currency));
+ * }
+ * </pre>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the computed values
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the result of the computation for the key, joining the one in flight if any.
+     *
+     * @param key         the key of the computation
+     * @param computation the computation to run if none is in flight for the key
+     * @return the computed value
+     */
+    public V execute(K key, Supplier<V> computation) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existingCall = inFlight.putIfAbsent(key, call);
+        if (existingCall != null) {
+            return await(existingCall);
+        }
+        try {
+            V value = computation.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Rethrow the exception of the computation as is, like the first caller gets it
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -51,4 +51,17 @@ public class TimeProvider {
     public LocalDate today() {
         return LocalDate.now();
     }
+
+    /**
+     * Returns the current value of the monotonic clock.
+     * <p>
+     * The value is only meaningful as a difference from another one; unlike {@link #now()}
+     * it never goes back when the system clock is adjusted.
+     * </p>
+     *
+     * @return the current value of {@link System#nanoTime()}
+     */
+    public long nanoTime() {
+        return System.nanoTime();
+    }
 }
@@ -1,6 +1,5 @@
 package com.example.privattest.validation;
 
-import com.example.privattest.model.Currency;
 import jakarta.validation.Constraint;
 import jakarta.validation.Payload;
 import java.lang.annotation.ElementType;
@@ -10,10 +9,11 @@ import java.lang.annotation.Target;
 
 /**
  * Custom validation annotation for ensuring that a provided currency value
- * is one of the allowed values (e.g., USD, EUR).
+ * is one of the allowed values, by default the tracked currencies
+ * ({@code exchange-rate.tracked-currencies}).
  * <p>
- * This annotation can be applied to method parameters to validate their values
- * against a predefined set of allowed currencies.
+ * This annotation can be applied to method parameters (or to the elements of a list
+ * parameter) to validate their values against a predefined set of allowed currencies.
  * </p>
  *
  * <p>Usage example:</p>
@@ -26,10 +26,13 @@ import java.lang.annotation.Target;
  * <p>The actual validation logic is implemented in the {@link AllowedCurrencyValidator} class.</p>
  */
 @Constraint(validatedBy = AllowedCurrencyValidator.class)
-@Target(ElementType.PARAMETER)
+@Target({ElementType.PARAMETER, ElementType.TYPE_USE})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface AllowedCurrency {
-    String message() default "Invalid currency. Allowed values: USD, EUR";
+    /**
+     * Message of the violation, followed by the allowed values.
+     */
+    String message() default "Invalid currency. Allowed values: ";
 
     Class<?>[] groups() default {};
 
@@ -38,7 +41,7 @@ public @interface AllowedCurrency {
     /**
      * Specifies the allowed currency values for validation.
      *
-     * @return an array of allowed currency values
+     * @return the alphabetic codes of the allowed currencies, or none for the tracked ones
      */
-    Currency[] allowedValues() default {Currency.USD, Currency.EUR};
+    String[] allowedValues() default {};
 }
@@ -4,18 +4,39 @@ import com.example.privattest.model.Currency;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
 
 public class AllowedCurrencyValidator implements ConstraintValidator<AllowedCurrency, Currency> {
 
-    private Currency[] allowedValues;
+    @Value("${exchange-rate.tracked-currencies}")
+    private List<Currency> trackedCurrencies;
+
+    private Set<Currency> allowedValues;
+    private String message;
 
     @Override
     public void initialize(AllowedCurrency constraintAnnotation) {
-        this.allowedValues = constraintAnnotation.allowedValues();
+        List<Currency> allowed = constraintAnnotation.allowedValues().length == 0
+                ? trackedCurrencies
+                : Arrays.stream(constraintAnnotation.allowedValues())
+                        .map(Currency::valueOf)
+                        .toList();
+        this.allowedValues = Set.copyOf(allowed);
+        this.message = constraintAnnotation.message() + allowed.stream()
+                .map(Currency::getAlphaCode)
+                .collect(Collectors.joining(", "));
     }
 
     @Override
     public boolean isValid(Currency value, ConstraintValidatorContext context) {
-        return value != null && Arrays.asList(allowedValues).contains(value);
+        if (value != null && allowedValues.contains(value)) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message).addConstraintViolation();
+        return false;
     }
 }
@@ -0,0 +1,77 @@
+package com.example.privattest.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.dto.ConversionDto;
+import com.example.privattest.dto.ConversionRequestDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.service.PointInTimeRateService;
+import com.example.privattest.service.impl.ConversionServiceImpl;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of conversions at the latest rates on a single thread.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=Conversion},
+ * add {@code -prof gc} to the JMH arguments to see the allocation rate per operation.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class ConversionBenchmark {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+
+    private ConversionServiceImpl conversionService;
+    private ConversionRequestDto foreignToHryvnia;
+    private ConversionRequestDto crossRate;
+
+    @Setup
+    public void setUp() {
+        ExchangeRateService exchangeRateService = mock(ExchangeRateService.class);
+        when(exchangeRateService.getLatestRate(Currency.USD)).thenReturn(new ExchangeRateDto(
+                Currency.USD, new BigDecimal("41.300000"), new BigDecimal("41.800000"), NOW));
+        when(exchangeRateService.getLatestRate(Currency.EUR)).thenReturn(new ExchangeRateDto(
+                Currency.EUR, new BigDecimal("43.550000"), new BigDecimal("44.150000"), NOW));
+        conversionService = new ConversionServiceImpl(exchangeRateService,
+                mock(PointInTimeRateService.class));
+        conversionService.onExchangeRatesRefreshed(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.USD, Currency.EUR)));
+
+        foreignToHryvnia = new ConversionRequestDto(
+                Currency.USD, Currency.UAH, new BigDecimal("1299.99"), null);
+        crossRate = new ConversionRequestDto(
+                Currency.EUR, Currency.USD, new BigDecimal("250.40"), null);
+    }
+
+    @Benchmark
+    public ConversionDto foreignToHryvnia() {
+        return conversionService.convert(foreignToHryvnia);
+    }
+
+    @Benchmark
+    public ConversionDto crossRate() {
+        return conversionService.convert(crossRate);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.privattest.benchmark;
+
+import com.example.privattest.config.RateLimitProperties;
+import com.example.privattest.ratelimit.RateLimitDecision;
+import com.example.privattest.ratelimit.RateLimiter;
+import com.example.privattest.ratelimit.impl.TokenBucketRateLimiter;
+import com.example.privattest.util.TimeProvider;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time the rate limiter adds to a request, with all threads hitting the bucket of one client
+ * (contended compare-and-set) and with every thread being a different client.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=RateLimiter}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class RateLimiterBenchmark {
+    private static final String SHARED_ADDRESS = "10.0.0.1";
+
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        // A practically unlimited tier, so every call goes through the compare-and-set
+        rateLimiter = new TokenBucketRateLimiter(new RateLimitProperties(
+                1000, "anonymous",
+                Map.of("anonymous", new RateLimitProperties.Tier(Long.MAX_VALUE / 1_000_000_000L,
+                        1_000_000_000d)),
+                Map.of()
+        ), new TimeProvider());
+    }
+
+    @Benchmark
+    public RateLimitDecision sameClient() {
+        return rateLimiter.tryAcquire(null, SHARED_ADDRESS);
+    }
+
+    @Benchmark
+    public RateLimitDecision clientPerThread(ThreadAddress threadAddress) {
+        return rateLimiter.tryAcquire(null, threadAddress.address);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadAddress {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        private final String address = "10.0.1." + NEXT.incrementAndGet();
+    }
+}
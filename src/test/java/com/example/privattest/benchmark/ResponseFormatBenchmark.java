@@ -0,0 +1,90 @@
+package com.example.privattest.benchmark;
+
+import com.example.privattest.config.BinaryFormatConfig;
+import com.example.privattest.dto.DynamicDetailsDto;
+import com.example.privattest.model.Currency;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization time of a daily dynamics response per format.
+ *
+ * <p>The payload size of every format is printed once per fork, before the measurements.</p>
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ResponseFormat}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+    private static final LocalDateTime START_OF_DAY = LocalDateTime.of(2024, 12, 7, 0, 0);
+
+    @Param({"json", "json-gzip", "cbor", "msgpack"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private boolean gzip;
+    private List<DynamicDetailsDto> dailyDynamics;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> BinaryFormatConfig
+                    .cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                    .getObjectMapper();
+            case "msgpack" -> BinaryFormatConfig
+                    .messagePackHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                    .getObjectMapper();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        gzip = format.endsWith("-gzip");
+
+        dailyDynamics = new ArrayList<>();
+        for (int hour = 23; hour > 0; hour--) {
+            dailyDynamics.add(new DynamicDetailsDto(
+                    Currency.USD,
+                    BigDecimal.valueOf(hour * 37L, 4).setScale(6, RoundingMode.HALF_UP),
+                    START_OF_DAY.plusHours(hour - 1L),
+                    BigDecimal.valueOf(-hour * 29L, 4).setScale(6, RoundingMode.HALF_UP),
+                    START_OF_DAY.plusHours(hour)
+            ));
+        }
+        System.out.printf("%s payload: %d bytes%n", format, serialize().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(dailyDynamics);
+        if (!gzip) {
+            return bytes;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)) {
+            gzipStream.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.privattest.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.privattest.dto.MonoRateApiResponse;
+import com.example.privattest.dto.PrivatRateApiResponse;
+import com.example.privattest.model.ExchangeRate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class ApplicationRuntimeHintsTest {
+    @Test
+    @DisplayName("registerHints - registers entities, bank DTOs, mapper and configuration files")
+    void registerHints_registersReflectionAndResourceHints() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ExchangeRate.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(MonoRateApiResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(PrivatRateApiResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(
+                "com.example.privattest.mapper.ExchangeRateMapperImpl")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(BinaryFormatModule.ExchangeRateSchema.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("ehcache.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("db/changelog/db.changelog-master.yaml").test(hints));
+    }
+}
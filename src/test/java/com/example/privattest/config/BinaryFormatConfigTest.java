@@ -0,0 +1,126 @@
+package com.example.privattest.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.model.Currency;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.msgpack.jackson.dataformat.MessagePackMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class BinaryFormatConfigTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0, 0, 123_000_000);
+    private static final ExchangeRateDto RATE = new ExchangeRateDto(
+            Currency.USD, new BigDecimal("41.320000"), new BigDecimal("41.820000"), NOW);
+
+    @Test
+    @DisplayName("CBOR - rate - is written as a positional array smaller than JSON")
+    void cbor_rate_isWrittenAsPositionalArraySmallerThanJson() throws Exception {
+        // Given
+        ObjectMapper cborMapper = BinaryFormatConfig
+                .cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                .getObjectMapper();
+
+        // When
+        byte[] cbor = cborMapper.writeValueAsBytes(List.of(RATE));
+
+        // Then
+        JsonNode rate = new CBORMapper().readTree(cbor).get(0);
+        assertTrue(rate.isArray());
+        assertEquals("USD", rate.get(0).asText());
+        // A native decimal fraction, not a lossy double
+        assertTrue(rate.get(1).isBigDecimal());
+        assertEquals(0, RATE.rateBuy().compareTo(rate.get(1).decimalValue()));
+        assertEquals(0, RATE.rateSell().compareTo(rate.get(2).decimalValue()));
+        assertEquals(NOW.toInstant(ZoneOffset.UTC).toEpochMilli(), rate.get(3).asLong());
+        byte[] json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(List.of(RATE));
+        assertTrue(cbor.length * 2 < json.length, cbor.length + " bytes vs " + json.length);
+    }
+
+    @Test
+    @DisplayName("MessagePack - rate - decimals are written as exponent and mantissa")
+    void messagePack_rate_decimalsAreWrittenAsExponentAndMantissa() throws Exception {
+        // Given
+        ObjectMapper messagePackMapper = BinaryFormatConfig
+                .messagePackHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                .getObjectMapper();
+
+        // When
+        byte[] messagePack = messagePackMapper.writeValueAsBytes(RATE);
+
+        // Then
+        JsonNode rate = new MessagePackMapper().readTree(messagePack);
+        assertEquals(4, rate.size());
+        assertEquals("USD", rate.get(0).asText());
+        assertEquals(-6, rate.get(1).get(0).asInt());
+        assertEquals(41_320_000L, rate.get(1).get(1).asLong());
+        assertEquals(NOW.toInstant(ZoneOffset.UTC).toEpochMilli(), rate.get(3).asLong());
+    }
+
+    @Test
+    @DisplayName("extendMessageConverters - any type accepted - JSON is chosen")
+    @SuppressWarnings("unchecked")
+    void extendMessageConverters_whenAnyTypeAccepted_choosesJson() throws Exception {
+        // Given
+        ObjectProvider<Jackson2ObjectMapperBuilder> builders = mock(ObjectProvider.class);
+        when(builders.getObject()).thenAnswer(invocation -> Jackson2ObjectMapperBuilder.json());
+        List<HttpMessageConverter<?>> converters =
+                new ArrayList<>(new HttpMessageConverters().getConverters());
+
+        // When
+        new BinaryFormatConfig(builders).extendMessageConverters(converters);
+
+        // Then
+        assertEquals(1, converters.stream()
+                .filter(MappingJackson2CborHttpMessageConverter.class::isInstance)
+                .count());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new RateController())
+                .setMessageConverters(converters.toArray(HttpMessageConverter[]::new))
+                .build();
+        mockMvc.perform(get("/rate"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/rate").header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/rate").header(HttpHeaders.ACCEPT,
+                        "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/rate").header(HttpHeaders.ACCEPT, "application/cbor"))
+                .andExpect(content().contentType("application/cbor"));
+        mockMvc.perform(get("/rate").header(HttpHeaders.ACCEPT,
+                        MessagePackHttpMessageConverter.APPLICATION_MSGPACK_VALUE))
+                .andExpect(content().contentType(
+                        MessagePackHttpMessageConverter.APPLICATION_MSGPACK));
+    }
+
+    @RestController
+    static class RateController {
+        @GetMapping("/rate")
+        ExchangeRateDto getRate() {
+            return RATE;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.privattest.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.example.privattest.dto.DynamicDetailsDto;
+import com.example.privattest.model.Currency;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.management.ObjectName;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.core.io.ClassPathResource;
+
+class EhcacheConfigurationTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    @SneakyThrows
+    void setUp() {
+        cacheManager = Caching.getCachingProvider().getCacheManager(
+                new ClassPathResource("ehcache.xml").getURI(), getClass().getClassLoader());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("ehcache.xml - caches are available to Spring and keep statistics")
+    void ehcacheXml_cachesAreAvailableToSpringAndKeepStatistics() {
+        // Given
+        JCacheCacheManager springCacheManager = new JCacheCacheManager(cacheManager);
+        springCacheManager.afterPropertiesSet();
+        List<DynamicDetailsDto> dailyDynamics = List.of(new DynamicDetailsDto(
+                Currency.USD, BigDecimal.ONE, NOW.minusHours(1), BigDecimal.TEN, NOW));
+
+        // When
+        for (String name : List.of("exchangeRates", "dynamicDetails", "dynamicDetailsList")) {
+            assertNotNull(springCacheManager.getCache(name), name);
+        }
+        springCacheManager.getCache("dynamicDetailsList").put(Currency.USD, dailyDynamics);
+
+        // Then
+        assertEquals(dailyDynamics, springCacheManager.getCache("dynamicDetailsList")
+                .get(Currency.USD, List.class));
+        // The statistics MBean is what the actuator cache metrics are read from
+        Set<ObjectName> statistics = ManagementFactory.getPlatformMBeanServer().queryNames(
+                new ObjectName("javax.cache:type=CacheStatistics,Cache=dynamicDetailsList,*"),
+                null);
+        assertEquals(1, statistics.size());
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(statistics.iterator().next(), "CacheHits"));
+    }
+}
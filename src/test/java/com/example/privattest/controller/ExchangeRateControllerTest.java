@@ -5,13 +5,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.privattest.dto.CurrencySnapshotDto;
 import com.example.privattest.dto.DynamicDetailsDto;
 import com.example.privattest.dto.ErrorResponseDto;
 import com.example.privattest.dto.ExchangeRateDto;
 import com.example.privattest.model.Currency;
 import com.example.privattest.notification.impl.TelegramNotificationService;
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.store.RateStoreLoader;
 import com.example.privattest.util.TimeProvider;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -29,6 +33,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
@@ -47,6 +54,7 @@ class ExchangeRateControllerTest {
     private static final String LATEST_API_URL = "/api/exchange-rate/latest";
     private static final String HOURLY_DIFFERENCE_API_URL = "/api/exchange-rate/hourly-difference";
     private static final String DAILY_DYNAMICS_API_URL = "/api/exchange-rate/daily-dynamics";
+    private static final String SNAPSHOT_API_URL = "/api/exchange-rate/snapshot";
 
     @Autowired
     private MockMvc mockMvc;
@@ -57,7 +65,14 @@ class ExchangeRateControllerTest {
     @MockBean
     private TaskScheduler taskScheduler;
 
-    @MockBean
+    @Autowired
+    private RateStoreLoader rateStoreLoader;
+
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
+    // Real until stubbed, so the store and the caches load on startup as usual
+    @SpyBean
     private TimeProvider timeProvider;
 
     @MockBean
@@ -65,8 +80,12 @@ class ExchangeRateControllerTest {
 
     @BeforeEach
     void setUp() {
-        Mockito.when(timeProvider.now()).thenReturn(NOW);
-        Mockito.when(timeProvider.today()).thenReturn(NOW.toLocalDate());
+        Mockito.doReturn(NOW).when(timeProvider).now();
+        Mockito.doReturn(NOW.toLocalDate()).when(timeProvider).today();
+        // The test data is inserted after startup, so it is loaded the way an ingestion
+        // or another instance's rates would be: into the store, then the caches
+        rateStoreLoader.load();
+        exchangeRateService.refreshCaches();
     }
 
     @Test
@@ -282,4 +301,58 @@ class ExchangeRateControllerTest {
         assertTrue(EqualsBuilder.reflectionEquals(expectedError, actual, "reason"),
                 String.format("Expected: %s, \n Actual: %s", expectedError, actual));
     }
+
+    @Test
+    @DisplayName("getSnapshot - valid currencies - returns latest rates of all of them")
+    @Sql(scripts = "classpath:database.scripts/fill-exchange_rate-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SneakyThrows
+    void getSnapshot_whenValidCurrencies_returnsLatestRatesOfAllOfThem() {
+        // When
+        MvcResult result = mockMvc.perform(get(SNAPSHOT_API_URL)
+                        .param("currencies", "EUR,USD")
+                        .param("withHourlyDynamics", "true"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        List<CurrencySnapshotDto> actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {
+                });
+        assertEquals(List.of(Currency.EUR, Currency.USD),
+                actual.stream().map(CurrencySnapshotDto::currency).toList());
+        assertEquals(0, new BigDecimal("41.320000")
+                .compareTo(actual.get(1).latestRate().rateBuy()));
+        assertNotNull(actual.get(1).hourlyDynamics());
+    }
+
+    @Test
+    @DisplayName("getSnapshot - no Accept header or any type accepted - returns JSON")
+    @Sql(scripts = "classpath:database.scripts/fill-exchange_rate-table.sql",
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @SneakyThrows
+    void getSnapshot_whenNoAcceptHeaderOrAnyTypeAccepted_returnsJson() {
+        mockMvc.perform(get(SNAPSHOT_API_URL)
+                        .param("currencies", "USD"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get(SNAPSHOT_API_URL)
+                        .param("currencies", "USD")
+                        .header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get(SNAPSHOT_API_URL)
+                        .param("currencies", "USDT"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("getSnapshot - invalid currency - returns BadRequest")
+    @SneakyThrows
+    void getSnapshot_whenInvalidCurrency_returnsBadRequest() {
+        mockMvc.perform(get(SNAPSHOT_API_URL)
+                        .param("currencies", "USD,UAH"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,115 @@
+package com.example.privattest.controller;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.dto.ErrorResponseDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.ExchangeRateVersionService;
+import com.example.privattest.service.ReactiveExchangeRateService;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(ReactiveExchangeRateController.class)
+class ReactiveExchangeRateControllerTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+    private static final String LATEST_API_URL = "/api/exchange-rate/latest?currency=";
+    private static final String ETAG = "W/\"USD-1733572800000\"";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveExchangeRateService reactiveExchangeRateService;
+
+    @MockBean
+    private ExchangeRateVersionService exchangeRateVersionService;
+
+    @Test
+    @DisplayName("getLatestRate - valid currency - returns latest rate with validators")
+    void getLatestRate_whenValidCurrency_returnsLatestRateWithValidators() {
+        // Given
+        ExchangeRateDto expected = new ExchangeRateDto(
+                Currency.USD, new BigDecimal("41.32"), new BigDecimal("41.82"), NOW);
+        mockVersion();
+        when(reactiveExchangeRateService.getLatestRate(Currency.USD))
+                .thenReturn(Mono.just(expected));
+
+        // When / Then
+        webTestClient.get().uri(LATEST_API_URL + "USD")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, ETAG)
+                .expectHeader().cacheControl(
+                        CacheControl.maxAge(Duration.ofMinutes(30)).cachePublic())
+                .expectBody(ExchangeRateDto.class).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("getLatestRate - client has current version - returns NotModified")
+    void getLatestRate_whenClientHasCurrentVersion_returnsNotModified() {
+        // Given
+        mockVersion();
+        when(reactiveExchangeRateService.getLatestRate(Currency.USD))
+                .thenReturn(Mono.error(new IllegalStateException("Must not be subscribed")));
+
+        // When / Then
+        webTestClient.get().uri(LATEST_API_URL + "USD")
+                .header(HttpHeaders.IF_NONE_MATCH, ETAG)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("getLatestRate - no data error - returns error response")
+    void getLatestRate_whenNoDataError_returnsErrorResponse() {
+        // Given
+        when(exchangeRateVersionService.getLastModified(Currency.EUR))
+                .thenReturn(Optional.empty());
+        CurrencyDataNotFoundException exception = new CurrencyDataNotFoundException("EUR");
+        when(reactiveExchangeRateService.getLatestRate(Currency.EUR))
+                .thenReturn(Mono.error(exception));
+
+        // When / Then
+        webTestClient.get().uri(LATEST_API_URL + "EUR")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ErrorResponseDto.class)
+                .isEqualTo(new ErrorResponseDto(1, exception.getMessage()));
+    }
+
+    @Test
+    @DisplayName("getLatestRate - invalid currency - returns BadRequest")
+    void getLatestRate_whenInvalidCurrency_returnsBadRequest() {
+        // When / Then
+        webTestClient.get().uri(LATEST_API_URL + "UAH")
+                .exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri(LATEST_API_URL + "USDT")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(reactiveExchangeRateService, never()).getLatestRate(Currency.UAH);
+    }
+
+    private void mockVersion() {
+        when(exchangeRateVersionService.getLastModified(Currency.USD))
+                .thenReturn(Optional.of(NOW));
+        when(exchangeRateVersionService.toEpochMilli(NOW)).thenReturn(1733572800000L);
+        when(exchangeRateVersionService.getEtag(Currency.USD, NOW)).thenReturn(ETAG);
+        when(exchangeRateVersionService.getTimeToLive(NOW)).thenReturn(Duration.ofMinutes(30));
+    }
+}
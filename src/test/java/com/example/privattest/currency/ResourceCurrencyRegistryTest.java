@@ -0,0 +1,126 @@
+package com.example.privattest.currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.privattest.currency.impl.ResourceCurrencyRegistry;
+import com.example.privattest.model.Currency;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+class ResourceCurrencyRegistryTest {
+    private static final String CSV = """
+            # Currencies out of order, with a comment and a blank line
+
+            USD,840,2
+            JPY,392,0
+            BHD,048,3
+            """;
+
+    @Test
+    @DisplayName("findByAlphaCode - bundled registry - finds currencies beyond the served ones")
+    void findByAlphaCode_whenBundledRegistry_findsCurrenciesBeyondServedOnes() {
+        // Given
+        CurrencyRegistry registry =
+                new ResourceCurrencyRegistry(new ClassPathResource("currencies.csv"));
+
+        // When
+        Currency pound = registry.findByAlphaCode("GBP").orElseThrow();
+
+        // Then
+        assertEquals("826", pound.getNumericCode());
+        assertEquals(2, pound.getMinorUnits());
+        assertSame(pound, registry.findByNumericCode(826).orElseThrow());
+        assertTrue(registry.getAll().size() > 100);
+    }
+
+    @Test
+    @DisplayName("findByAlphaCode - any case - returns the same currency")
+    void findByAlphaCode_whenAnyCase_returnsSameCurrency() {
+        // Given
+        CurrencyRegistry registry = registry(CSV);
+
+        // When
+        Currency dinar = registry.findByAlphaCode("BHD").orElseThrow();
+
+        // Then
+        assertEquals("BHD", dinar.getAlphaCode());
+        assertEquals("048", dinar.getNumericCode());
+        assertEquals(48, dinar.getIntegerNumericCode());
+        assertEquals(3, dinar.getMinorUnits());
+        assertSame(dinar, registry.findByAlphaCode("bhd").orElseThrow());
+        assertSame(dinar, registry.findByNumericCode(48).orElseThrow());
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @ValueSource(strings = {"", "US", "USDT", "U$D", "GBP", "ÜSD"})
+    @DisplayName("findByAlphaCode - unknown or invalid code - returns empty")
+    void findByAlphaCode_whenUnknownOrInvalidCode_returnsEmpty(String alphaCode) {
+        assertTrue(registry(CSV).findByAlphaCode(alphaCode).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findByNumericCode - unknown or out of range code - returns empty")
+    void findByNumericCode_whenUnknownOrOutOfRangeCode_returnsEmpty() {
+        // Given
+        CurrencyRegistry registry = registry(CSV);
+
+        // When / Then
+        assertTrue(registry.findByNumericCode(826).isEmpty());
+        assertTrue(registry.findByNumericCode(-1).isEmpty());
+        assertTrue(registry.findByNumericCode(1000).isEmpty());
+        assertTrue(registry.findByAlphaCode(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("getAll - any order - orders currencies by alphabetic code and indexes them")
+    void getAll_whenAnyOrder_ordersByAlphaCodeAndIndexes() {
+        // When
+        List<Currency> currencies = registry(CSV).getAll();
+
+        // Then
+        assertEquals(List.of("BHD", "JPY", "USD"),
+                currencies.stream().map(Currency::getAlphaCode).toList());
+        for (int i = 0; i < currencies.size(); i++) {
+            assertEquals(i, currencies.get(i).getIndex());
+        }
+    }
+
+    @Test
+    @DisplayName("constructor - duplicate or malformed line - throws IllegalStateException")
+    void constructor_whenDuplicateOrMalformedLine_throwsIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> registry("""
+                USD,840,2
+                USN,840,2
+                """));
+        assertThrows(IllegalStateException.class, () -> registry("""
+                USD,840,2
+                USD,841,2
+                """));
+        assertThrows(IllegalStateException.class, () -> registry("""
+                UAH,980,two
+                """));
+        assertThrows(IllegalStateException.class, () -> registry("""
+                U$D,841,2
+                """));
+        assertThrows(IllegalStateException.class, () -> registry("""
+                usd,840,2
+                """));
+        assertThrows(IllegalStateException.class, () -> registry("""
+                USD,840
+                """));
+    }
+
+    private static CurrencyRegistry registry(String csv) {
+        return new ResourceCurrencyRegistry(
+                new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
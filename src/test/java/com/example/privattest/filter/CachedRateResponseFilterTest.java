@@ -0,0 +1,133 @@
+package com.example.privattest.filter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+import com.example.privattest.model.CachedRateResponse;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.RateEndpoint;
+import com.example.privattest.service.ExchangeRateVersionService;
+import com.example.privattest.service.RateResponseCache;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+@ExtendWith(MockitoExtension.class)
+class CachedRateResponseFilterTest {
+    private static final byte[] BODY = "{\"currency\":\"USD\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIPPED_BODY = {31, -117, 8, 0};
+
+    @Mock
+    private RateResponseCache rateResponseCache;
+
+    @Mock
+    private ExchangeRateVersionService exchangeRateVersionService;
+
+    @InjectMocks
+    private CachedRateResponseFilter cachedRateResponseFilter;
+
+    @BeforeEach
+    void setUp() {
+        // Not reached by the requests passed on to the controller
+        lenient().when(rateResponseCache.get(RateEndpoint.LATEST, Currency.USD))
+                .thenReturn(new CachedRateResponse(BODY, GZIPPED_BODY, "W/\"USD-1\"",
+                        LocalDateTime.of(2024, 12, 7, 12, 0), 1));
+        lenient().when(exchangeRateVersionService.getTimeToLive(any()))
+                .thenReturn(Duration.ofMinutes(5));
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @ValueSource(strings = {"gzip", "gzip, deflate, br", "deflate;q=0.5, GZIP;q=0.8", "x-gzip",
+            "*", "br, *;q=0.1"})
+    @DisplayName("doFilter - gzip accepted - writes the gzipped body")
+    void doFilter_whenGzipAccepted_writesGzippedBody(String acceptEncoding) throws Exception {
+        // When
+        MockHttpServletResponse response = filter(acceptEncoding);
+
+        // Then
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(GZIPPED_BODY, response.getContentAsByteArray());
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @ValueSource(strings = {"", "identity", "gzip;q=0", "gzip; q=0.000, deflate", "x-gzip-alike",
+            "notgzip", "*;q=0", "gzip;q=0, *", "gzip;q=abc"})
+    @DisplayName("doFilter - gzip not accepted - writes the plain body")
+    void doFilter_whenGzipNotAccepted_writesPlainBody(String acceptEncoding) throws Exception {
+        // When
+        MockHttpServletResponse response = filter(acceptEncoding);
+
+        // Then
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @ValueSource(strings = {"application/json", "application/json;charset=UTF-8", "*/*",
+            "application/*", "text/html, */*;q=0.8", "text/csv;q=0.5, application/json"})
+    @DisplayName("doFilter - JSON accepted - writes the cached body")
+    void doFilter_whenJsonAccepted_writesCachedBody(String accept) throws Exception {
+        // Given
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = filter(accept, "", filterChain);
+
+        // Then
+        assertNull(filterChain.getRequest());
+        assertEquals("application/json", response.getContentType());
+        assertArrayEquals(BODY, response.getContentAsByteArray());
+    }
+
+    @ParameterizedTest(name = "[{index}] {0}")
+    @ValueSource(strings = {"text/csv", "application/xml", "text/html", "application/cbor",
+            "application/x-msgpack, application/json", "application/json;q=0, */*",
+            "application/json;q=0", "not a media type"})
+    @DisplayName("doFilter - JSON not accepted alone - passes the request to the controller")
+    void doFilter_whenJsonNotAcceptedAlone_passesRequestToController(String accept)
+            throws Exception {
+        // Given
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = filter(accept, "", filterChain);
+
+        // Then
+        assertNotNull(filterChain.getRequest());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private MockHttpServletResponse filter(String acceptEncoding) throws Exception {
+        return filter(null, acceptEncoding, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse filter(String accept, String acceptEncoding,
+                                           MockFilterChain filterChain) throws Exception {
+        MockHttpServletRequest request =
+                new MockHttpServletRequest("GET", "/api/exchange-rate/latest");
+        request.setParameter("currency", "USD");
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cachedRateResponseFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.privattest.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.privattest.journal.impl.MappedRateJournal;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+class MappedRateJournalTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+
+    @TempDir
+    private Path directory;
+
+    private MappedRateJournal rateJournal;
+
+    @BeforeEach
+    void setUp() {
+        rateJournal = createJournal(DataSize.ofKilobytes(64));
+    }
+
+    @Test
+    @DisplayName("replay - appended entries - returns the same entries in order")
+    void replay_whenEntriesAppended_returnsSameEntriesInOrder() {
+        // Given
+        RateJournalEntry first = createEntry("privatbank", NOW.minusHours(1), "41.25000");
+        RateJournalEntry second = createEntry("monobank", NOW, "41.3");
+        rateJournal.append(first);
+        rateJournal.append(second);
+
+        // When
+        List<RateJournalEntry> actual = new ArrayList<>();
+        rateJournal.replay(actual::add);
+
+        // Then
+        assertEquals(2, actual.size());
+        assertEntryEquals(first, actual.get(0));
+        assertEntryEquals(second, actual.get(1));
+    }
+
+    @Test
+    @DisplayName("append - segment is full - rolls to the next segment")
+    @SneakyThrows
+    void append_whenSegmentIsFull_rollsToNextSegment() {
+        // Given
+        rateJournal = createJournal(DataSize.ofBytes(128));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            rateJournal.append(createEntry("privatbank", NOW.plusHours(i), "41.25"));
+        }
+
+        // Then
+        List<RateJournalEntry> actual = new ArrayList<>();
+        rateJournal.replay(actual::add);
+        assertEquals(5, actual.size());
+        assertEquals(NOW.plusHours(4), actual.get(4).fetchedAt());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+    }
+
+    @Test
+    @DisplayName("append - journal reopened - continues after the last record")
+    void append_whenJournalReopened_continuesAfterLastRecord() {
+        // Given
+        rateJournal.append(createEntry("privatbank", NOW.minusHours(1), "41.25"));
+        rateJournal.close();
+        MappedRateJournal reopened = createJournal(DataSize.ofKilobytes(64));
+
+        // When
+        reopened.append(createEntry("privatbank", NOW, "41.30"));
+
+        // Then
+        List<RateJournalEntry> actual = new ArrayList<>();
+        reopened.replay(actual::add);
+        assertEquals(2, actual.size());
+        assertEquals(NOW, actual.get(1).fetchedAt());
+    }
+
+    @Test
+    @DisplayName("replay - corrupted record - stops before the corrupted record")
+    @SneakyThrows
+    void replay_whenRecordCorrupted_stopsBeforeCorruptedRecord() {
+        // Given
+        rateJournal.append(createEntry("privatbank", NOW.minusHours(1), "41.25"));
+        rateJournal.append(createEntry("privatbank", NOW, "41.30"));
+        rateJournal.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            // Flip a byte in the payload of the second record
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}),
+                    2L * Integer.BYTES + length.flip().getInt() + 3 * Integer.BYTES);
+        }
+
+        // When
+        List<RateJournalEntry> actual = new ArrayList<>();
+        rateJournal.replay(actual::add);
+
+        // Then
+        assertEquals(1, actual.size());
+        assertEquals(NOW.minusHours(1), actual.get(0).fetchedAt());
+    }
+
+    private MappedRateJournal createJournal(DataSize segmentSize) {
+        MappedRateJournal journal = new MappedRateJournal();
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "segmentSize", segmentSize);
+        return journal;
+    }
+
+    private RateJournalEntry createEntry(String source, LocalDateTime fetchedAt, String rate) {
+        return new RateJournalEntry(source, fetchedAt, List.of(
+                new ExchangeRate(null, Currency.USD, new BigDecimal(rate),
+                        new BigDecimal(rate).add(BigDecimal.ONE), fetchedAt),
+                new ExchangeRate(null, Currency.EUR, new BigDecimal(rate),
+                        new BigDecimal(rate).add(BigDecimal.TEN), fetchedAt)
+        ));
+    }
+
+    private void assertEntryEquals(RateJournalEntry expected, RateJournalEntry actual) {
+        assertEquals(expected.source(), actual.source());
+        assertEquals(expected.fetchedAt(), actual.fetchedAt());
+        assertEquals(expected.quotes(), actual.quotes());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.privattest.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Local stand-in for the PrivatBank and Monobank APIs, so the application under load
+ * ingests rates without reaching the real banks. It always answers with the same rates.
+ */
+class BankApiStandIn implements AutoCloseable {
+    private static final String PRIVAT_PATH = "/p24api/pubinfo";
+    private static final String MONO_PATH = "/bank/currency";
+    private static final String PRIVAT_RATES = """
+            [{"ccy":"USD","base_ccy":"UAH","buy":"41.25000","sale":"41.79000"},
+             {"ccy":"EUR","base_ccy":"UAH","buy":"43.47000","sale":"44.27000"}]""";
+    private static final String MONO_RATES = """
+            [{"currencyCodeA":840,"currencyCodeB":980,"date":%1$d,"rateBuy":41.2,
+              "rateSell":41.8},
+             {"currencyCodeA":978,"currencyCodeB":980,"date":%1$d,"rateBuy":43.4,
+              "rateSell":44.3}]""";
+
+    private final HttpServer server;
+
+    BankApiStandIn() {
+        try {
+            server = HttpServer.create(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't start the bank API stand-in", e);
+        }
+        server.createContext(PRIVAT_PATH, exchange -> respond(exchange, PRIVAT_RATES));
+        server.createContext(MONO_PATH, exchange -> respond(exchange,
+                String.format(MONO_RATES, Instant.now().getEpochSecond())));
+        server.start();
+    }
+
+    String privatUrl() {
+        return baseUrl() + PRIVAT_PATH + "?exchange&coursid=5";
+    }
+
+    String monoUrl() {
+        return baseUrl() + MONO_PATH;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.privattest.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.notification.impl.TelegramNotificationService;
+import com.example.privattest.repository.ExchangeRateRepository;
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.store.RateStoreLoader;
+import com.example.privattest.util.TimeProvider;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Measures the latency of the read endpoints under a fixed arrival rate, with the
+ * production read path (in-memory store and caches) in front of a PostgreSQL container
+ * holding a day of rates.
+ *
+ * <p>Run with {@code mvn -Pload test}. Every endpoint is warmed up first, then loaded for
+ * {@code load.duration}; the p50/p99/p99.9 latencies are logged, and the full histograms
+ * are saved to {@code target/load-results/<load.label>} as percentile distributions
+ * ({@code .hgrm}) and HdrHistogram logs ({@code .hlog}), so the runs of different builds
+ * can be compared, e.g. with the HdrHistogram plotter.</p>
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"store.enabled=true", "spring.cache.type=jcache"})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class ExchangeRateLoadTest {
+    private static final BankApiStandIn BANK_API = new BankApiStandIn();
+    private static final Duration HISTORY = Duration.ofDays(1);
+    private static final Duration HISTORY_STEP = Duration.ofMinutes(10);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final double requestsPerSecond = Double.parseDouble(
+            System.getProperty("load.rate", "500"));
+    private final int concurrency = Integer.getInteger("load.concurrency", 64);
+    private final Duration duration = Duration.parse(
+            System.getProperty("load.duration", "PT30S"));
+    private final Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+    private final Path resultsDirectory = Path.of("target", "load-results",
+            System.getProperty("load.label",
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
+    @Autowired
+    private RateStoreLoader rateStoreLoader;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @MockBean
+    private TelegramNotificationService notificationService;
+
+    @DynamicPropertySource
+    static void bankApi(DynamicPropertyRegistry registry) {
+        registry.add("privat.currency.api", BANK_API::privatUrl);
+        registry.add("mono.currency.api", BANK_API::monoUrl);
+    }
+
+    @BeforeAll
+    void fillHistory() {
+        LocalDateTime now = timeProvider.now();
+        List<ExchangeRate> rates = new ArrayList<>();
+        for (LocalDateTime time = now.minus(HISTORY); time.isBefore(now);
+                time = time.plus(HISTORY_STEP)) {
+            for (Currency currency : List.of(Currency.USD, Currency.EUR)) {
+                BigDecimal buy = BigDecimal.valueOf(41 + rates.size() % 100 / 100.0);
+                rates.add(new ExchangeRate(null, currency, buy, buy.add(BigDecimal.ONE), time));
+            }
+        }
+        exchangeRateRepository.saveAll(rates);
+        // The latest rates go through the regular ingestion from the bank stand-in
+        exchangeRateService.updateExchangeRates();
+        rateStoreLoader.load();
+        exchangeRateService.refreshCaches();
+    }
+
+    @AfterAll
+    void stopBankApi() {
+        exchangeRateRepository.deleteAll();
+        BANK_API.close();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"latest", "hourly-difference", "daily-dynamics"})
+    @DisplayName("Latency of the endpoint under a fixed arrival rate")
+    void measureLatency(String endpoint) throws Exception {
+        // Given
+        URI uri = URI.create("http://localhost:" + port + "/api/exchange-rate/" + endpoint
+                + "?currency=USD");
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(
+                requestsPerSecond, concurrency);
+        generator.run(uri, warmup);
+
+        // When
+        OpenModelLoadGenerator.Result result = generator.run(uri, duration);
+
+        // Then
+        Histogram latencies = result.latencies();
+        log.info("{} at {} req/s: p50={}ms p99={}ms p99.9={}ms max={}ms, {} errors of {}",
+                endpoint, requestsPerSecond, millis(latencies, 50), millis(latencies, 99),
+                millis(latencies, 99.9), latencies.getMaxValue() / MICROS_PER_MILLI,
+                result.errors(), latencies.getTotalCount());
+        save(endpoint, latencies);
+        assertEquals(0, result.errors(), "Requests to " + endpoint + " failed");
+    }
+
+    private void save(String endpoint, Histogram latencies) throws IOException {
+        Files.createDirectories(resultsDirectory);
+        try (PrintStream out = new PrintStream(
+                resultsDirectory.resolve(endpoint + ".hgrm").toFile())) {
+            latencies.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+        try (PrintStream out = new PrintStream(
+                resultsDirectory.resolve(endpoint + ".hlog").toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputComment(String.format("%s, %s req/s, %d in flight, latency in us",
+                    endpoint, requestsPerSecond, concurrency));
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(latencies.getStartTimeStamp());
+            writer.outputLegend();
+            writer.outputIntervalHistogram(latencies);
+        }
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
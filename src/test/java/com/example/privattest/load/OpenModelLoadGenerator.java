@@ -0,0 +1,113 @@
+package com.example.privattest.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends GET requests at a fixed arrival rate, whatever the response times are (open model).
+ *
+ * <p>Request {@code i} is due at {@code start + i / rate}. Its latency is measured from that
+ * moment rather than from when it was actually sent, so when the server (or the limit
+ * of concurrent requests) holds the requests back, the waiting shows up in the histogram
+ * instead of being silently omitted (coordinated omission).</p>
+ */
+class OpenModelLoadGenerator {
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private final double requestsPerSecond;
+    private final int concurrency;
+
+    /**
+     * @param requestsPerSecond the arrival rate of the requests
+     * @param concurrency       the maximum number of requests in flight
+     */
+    OpenModelLoadGenerator(double requestsPerSecond, int concurrency) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Sends the requests for the given time and waits for their responses.
+     *
+     * @return the latencies in microseconds, and the number of failed requests
+     */
+    Result run(URI uri, Duration duration) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+        long intervalNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long requestCount = duration.toNanos() / intervalNanos;
+        AtomicLong nextRequest = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        final long startedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Histogram>> results = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            results.add(workers.submit(() -> {
+                Histogram histogram = new Histogram(MAX_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+                long index;
+                while ((index = nextRequest.getAndIncrement()) < requestCount) {
+                    long dueAt = start + index * intervalNanos;
+                    long delay = dueAt - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(delay);
+                    }
+                    if (!send(request)) {
+                        errors.incrementAndGet();
+                    }
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - dueAt);
+                    histogram.recordValue(Math.min(latencyMicros, MAX_TRACKABLE_MICROS));
+                }
+                return histogram;
+            }));
+        }
+        workers.shutdown();
+
+        Histogram total = new Histogram(MAX_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        try {
+            for (Future<Histogram> result : results) {
+                total.add(result.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load generator worker failed", e.getCause());
+        }
+        total.setStartTimeStamp(startedAt);
+        total.setEndTimeStamp(System.currentTimeMillis());
+        return new Result(total, errors.get());
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            HttpResponse<Void> response = httpClient.send(
+                    request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    record Result(Histogram latencies, long errors) {
+    }
+}
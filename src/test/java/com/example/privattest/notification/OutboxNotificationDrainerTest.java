@@ -0,0 +1,154 @@
+package com.example.privattest.notification;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.config.NotificationOutboxProperties;
+import com.example.privattest.config.TelegramBroadcastProperties;
+import com.example.privattest.event.NotificationQueuedEvent;
+import com.example.privattest.notification.impl.OutboxNotificationDrainer;
+import com.example.privattest.notification.impl.TelegramBroadcastDispatcher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxNotificationDrainerTest {
+    private static final int BATCH_SIZE = 3;
+    private static final NotificationOutboxProperties PROPERTIES =
+            new NotificationOutboxProperties(BATCH_SIZE, Duration.ofMinutes(5), 3);
+    private static final TelegramBroadcastProperties BROADCAST_PROPERTIES =
+            new TelegramBroadcastProperties(30, 1, 16, 5, Duration.ofSeconds(2),
+                    Duration.ofSeconds(10));
+
+    @Mock
+    private NotificationOutbox notificationOutbox;
+
+    @Mock
+    private TelegramBroadcastDispatcher broadcastDispatcher;
+
+    private OutboxNotificationDrainer drainer;
+
+    @BeforeEach
+    void setUp() {
+        drainer = new OutboxNotificationDrainer(notificationOutbox, broadcastDispatcher,
+                PROPERTIES, BROADCAST_PROPERTIES, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("onNotificationQueued - claims batches until none is left - records every chat")
+    void onNotificationQueued_whenBatchesClaimed_recordsOutcomeOfEveryChat() {
+        // Given
+        when(notificationOutbox.claim(BATCH_SIZE))
+                .thenReturn(List.of(
+                        new OutboxDelivery(1L, 10L, "first"),
+                        new OutboxDelivery(1L, 11L, "first"),
+                        new OutboxDelivery(2L, 10L, "second")))
+                .thenReturn(List.of(new OutboxDelivery(2L, 11L, "second")))
+                .thenReturn(List.of());
+        when(notificationOutbox.extendLease(anyLong(), anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(broadcastDispatcher.broadcast("first", List.of(10L, 11L)))
+                .thenReturn(new BroadcastResult(List.of(10L), List.of(11L), Duration.ZERO));
+        when(broadcastDispatcher.broadcast("second", List.of(10L)))
+                .thenReturn(new BroadcastResult(List.of(10L), List.of(), Duration.ZERO));
+        when(broadcastDispatcher.broadcast("second", List.of(11L)))
+                .thenReturn(new BroadcastResult(List.of(), List.of(11L), Duration.ZERO));
+
+        // When
+        drainer.onNotificationQueued(new NotificationQueuedEvent(2L));
+
+        // Then
+        verify(notificationOutbox, times(3)).claim(BATCH_SIZE);
+        verify(notificationOutbox, times(1)).complete(1L, List.of(10L), List.of(11L));
+        verify(notificationOutbox, times(1)).complete(2L, List.of(10L), List.of());
+        verify(notificationOutbox, times(1)).complete(2L, List.of(), List.of(11L));
+    }
+
+    @Test
+    @DisplayName("scheduleDrain - drains on the task executor, not on the scheduler thread")
+    void scheduleDrain_drainsOnTaskExecutor() {
+        // Given
+        List<Runnable> submitted = new ArrayList<>();
+        OutboxNotificationDrainer scheduledDrainer = new OutboxNotificationDrainer(
+                notificationOutbox, broadcastDispatcher, PROPERTIES, BROADCAST_PROPERTIES,
+                submitted::add);
+        when(notificationOutbox.claim(BATCH_SIZE)).thenReturn(List.of());
+
+        // When
+        scheduledDrainer.scheduleDrain();
+
+        // Then
+        verify(notificationOutbox, never()).claim(anyInt());
+        assertEquals(1, submitted.size());
+        submitted.get(0).run();
+        verify(notificationOutbox, times(1)).claim(BATCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("drain - claim fails - leaves the deliveries to the next drain")
+    void drain_whenClaimFails_leavesDeliveriesToNextDrain() {
+        // Given
+        when(notificationOutbox.claim(anyInt()))
+                .thenThrow(new QueryTimeoutException("Database is unavailable"))
+                .thenReturn(List.of());
+
+        // When / Then
+        assertDoesNotThrow(() -> drainer.drain());
+        assertDoesNotThrow(() -> drainer.drain());
+        verify(notificationOutbox, times(2)).claim(BATCH_SIZE);
+        verify(notificationOutbox, never()).complete(anyLong(), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("drain - deliveries claimed by another instance - sends only the rest")
+    void drain_whenDeliveriesClaimedByAnotherInstance_sendsOnlyTheRest() {
+        // Given
+        when(notificationOutbox.claim(BATCH_SIZE))
+                .thenReturn(List.of(
+                        new OutboxDelivery(1L, 10L, "first"),
+                        new OutboxDelivery(1L, 11L, "first"),
+                        new OutboxDelivery(2L, 10L, "second")))
+                .thenReturn(List.of());
+        when(notificationOutbox.extendLease(1L, List.of(10L, 11L))).thenReturn(List.of(11L));
+        when(notificationOutbox.extendLease(2L, List.of(10L))).thenReturn(List.of());
+        when(broadcastDispatcher.broadcast("first", List.of(11L)))
+                .thenReturn(new BroadcastResult(List.of(11L), List.of(), Duration.ZERO));
+
+        // When
+        drainer.drain();
+
+        // Then
+        verify(notificationOutbox, times(1)).complete(1L, List.of(11L), List.of());
+        verify(notificationOutbox, never()).complete(eq(2L), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("constructor - batch takes longer than the lease - throws IllegalStateException")
+    void constructor_whenBatchOutlivesLease_throwsIllegalStateException() {
+        // Given
+        NotificationOutboxProperties properties =
+                new NotificationOutboxProperties(10_000, Duration.ofMinutes(5), 3);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> new OutboxNotificationDrainer(
+                notificationOutbox, broadcastDispatcher, properties, BROADCAST_PROPERTIES,
+                Runnable::run));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.privattest.notification;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the {@code sendMessage} method of the Telegram Bot API. Messages are
+ * accepted after a fixed latency, unless an error response or no response at all is scripted
+ * for their chat.
+ */
+class TelegramBotApiStandIn implements AutoCloseable {
+    static final String TOKEN = "123:test";
+    static final int TOO_MANY_REQUESTS = 429;
+    static final int FORBIDDEN = 403;
+    /**
+     * Scripted instead of a status to hold the request until the stand-in is closed.
+     */
+    static final int NO_RESPONSE = -1;
+
+    private static final Pattern CHAT_ID = Pattern.compile("\"chat_id\"\\s*:\\s*\"?(-?\\d+)");
+    private static final String SENT = """
+            {"ok":true,"result":{"message_id":1,"date":0,"chat":{"id":%d,"type":"private"}}}""";
+    private static final String RETRY_AFTER = """
+            {"ok":false,"error_code":429,"description":"Too Many Requests: retry after 1",
+             "parameters":{"retry_after":1}}""";
+    private static final String BLOCKED = """
+            {"ok":false,"error_code":403,"description":"Forbidden: bot was blocked by the user"}""";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final long latencyNanos;
+    private final Map<Long, Deque<Integer>> scriptedErrors = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> requestsByChat = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    TelegramBotApiStandIn(long latencyNanos) {
+        this.latencyNanos = latencyNanos;
+        try {
+            server = HttpServer.create(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't start the Bot API stand-in", e);
+        }
+        server.createContext("/bot" + TOKEN + "/sendMessage", this::sendMessage);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Makes the next requests for the chat fail with the given statuses, one per request.
+     */
+    void failNext(long chatId, Integer... statuses) {
+        scriptedErrors.computeIfAbsent(chatId, id -> new ArrayDeque<>())
+                .addAll(List.of(statuses));
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/bot";
+    }
+
+    int requests(long chatId) {
+        AtomicInteger requests = requestsByChat.get(chatId);
+        return requests == null ? 0 : requests.get();
+    }
+
+    int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        closed.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void sendMessage(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            String request = new String(exchange.getRequestBody().readAllBytes(),
+                    StandardCharsets.UTF_8);
+            Matcher matcher = CHAT_ID.matcher(request);
+            long chatId = matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+            requestsByChat.computeIfAbsent(chatId, id -> new AtomicInteger()).incrementAndGet();
+            LockSupport.parkNanos(latencyNanos);
+
+            Deque<Integer> errors = scriptedErrors.get(chatId);
+            Integer error = errors == null ? null : errors.poll();
+            if (error == null) {
+                respond(exchange, 200, String.format(SENT, chatId));
+            } else if (error == NO_RESPONSE) {
+                awaitClose();
+            } else {
+                respond(exchange, error, error == TOO_MANY_REQUESTS ? RETRY_AFTER : BLOCKED);
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void awaitClose() {
+        try {
+            closed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
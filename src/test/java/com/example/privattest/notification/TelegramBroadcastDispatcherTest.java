@@ -0,0 +1,98 @@
+package com.example.privattest.notification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.privattest.config.TelegramBroadcastProperties;
+import com.example.privattest.notification.impl.TelegramBroadcastDispatcher;
+import com.example.privattest.util.TimeProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+class TelegramBroadcastDispatcherTest {
+    private static final String TEXT = "Оновлені курси валют";
+
+    private TelegramBotApiStandIn botApi;
+
+    @AfterEach
+    void tearDown() {
+        botApi.close();
+    }
+
+    @Test
+    @DisplayName("broadcast - many chats - sends in parallel within the bot limit")
+    void broadcast_whenManyChats_sendsInParallelWithinBotLimit() {
+        // Given
+        botApi = new TelegramBotApiStandIn(TimeUnit.MILLISECONDS.toNanos(50));
+        TelegramBroadcastDispatcher dispatcher = dispatcher(50);
+        List<Long> chatIds = LongStream.rangeClosed(1, 100).boxed().toList();
+
+        // When
+        BroadcastResult result = dispatcher.broadcast(TEXT, chatIds);
+
+        // Then
+        assertEquals(100, result.delivered());
+        assertEquals(0, result.failed());
+        // A burst of 50 messages, then 50 more at 50 per second
+        assertTrue(result.elapsed().compareTo(Duration.ofMillis(950)) >= 0,
+                "Broadcast took " + result.elapsed());
+        // Sending one by one would take 100 * 50 ms
+        assertTrue(result.elapsed().compareTo(Duration.ofSeconds(4)) < 0,
+                "Broadcast took " + result.elapsed());
+        assertTrue(botApi.maxInFlight() > 1, "max in flight " + botApi.maxInFlight());
+        chatIds.forEach(chatId -> assertEquals(1, botApi.requests(chatId)));
+    }
+
+    @Test
+    @DisplayName("broadcast - too many requests or blocked - retries after or gives up")
+    void broadcast_whenTooManyRequestsOrBlocked_retriesAfterOrGivesUp() {
+        // Given
+        botApi = new TelegramBotApiStandIn(0);
+        botApi.failNext(2L, TelegramBotApiStandIn.TOO_MANY_REQUESTS);
+        botApi.failNext(3L, TelegramBotApiStandIn.FORBIDDEN);
+        TelegramBroadcastDispatcher dispatcher = dispatcher(30);
+
+        // When
+        BroadcastResult result = dispatcher.broadcast(TEXT, List.of(1L, 2L, 3L, 4L, 5L));
+
+        // Then
+        assertEquals(4, result.delivered());
+        assertEquals(1, result.failed());
+        assertEquals(2, botApi.requests(2L));
+        assertEquals(1, botApi.requests(3L));
+        assertTrue(result.elapsed().compareTo(Duration.ofSeconds(1)) >= 0,
+                "Broadcast took " + result.elapsed());
+    }
+
+    @Test
+    @DisplayName("broadcast - no response in time - retries instead of waiting forever")
+    void broadcast_whenNoResponseInTime_retries() {
+        // Given
+        botApi = new TelegramBotApiStandIn(0);
+        botApi.failNext(2L, TelegramBotApiStandIn.NO_RESPONSE);
+        TelegramBroadcastDispatcher dispatcher = dispatcher(30);
+
+        // When
+        BroadcastResult result = dispatcher.broadcast(TEXT, List.of(1L, 2L, 3L));
+
+        // Then
+        assertEquals(3, result.delivered());
+        assertEquals(0, result.failed());
+        assertEquals(2, botApi.requests(2L));
+        assertTrue(result.elapsed().compareTo(Duration.ofSeconds(5)) < 0,
+                "Broadcast took " + result.elapsed());
+    }
+
+    private TelegramBroadcastDispatcher dispatcher(double messagesPerSecond) {
+        return new TelegramBroadcastDispatcher(WebClient.create(), botApi.url(),
+                TelegramBotApiStandIn.TOKEN, new TimeProvider(),
+                new TelegramBroadcastProperties(messagesPerSecond, 1, 8, 3,
+                        Duration.ofMillis(100), Duration.ofMillis(500)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.privattest.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.config.RateLimitProperties;
+import com.example.privattest.ratelimit.impl.TokenBucketRateLimiter;
+import com.example.privattest.util.TimeProvider;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBucketRateLimiterTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final String API_KEY = "partner-key";
+    private static final Map<String, RateLimitProperties.Tier> TIERS = Map.of(
+            "anonymous", new RateLimitProperties.Tier(1, 1),
+            "partner", new RateLimitProperties.Tier(100, 10)
+    );
+
+    @Mock
+    private TimeProvider timeProvider;
+
+    @Test
+    @DisplayName("tryAcquire - known API key - uses its tier, not the address")
+    void tryAcquire_whenKnownApiKey_usesItsTier() {
+        // Given
+        when(timeProvider.nanoTime()).thenReturn(SECOND);
+        RateLimiter rateLimiter = rateLimiter(10);
+
+        // When
+        RateLimitDecision partner = rateLimiter.tryAcquire(API_KEY, "10.0.0.1");
+        final RateLimitDecision anonymous = rateLimiter.tryAcquire(null, "10.0.0.1");
+        final RateLimitDecision unknownKey = rateLimiter.tryAcquire("guess", "10.0.0.1");
+
+        // Then
+        assertTrue(partner.allowed());
+        assertEquals(100, partner.limit());
+        assertEquals(99, partner.remaining());
+        assertTrue(anonymous.allowed());
+        assertFalse(unknownKey.allowed());
+        assertEquals(SECOND, unknownKey.retryAfterNanos());
+    }
+
+    @Test
+    @DisplayName("tryAcquire - too many addresses - new one evicts the fullest bucket")
+    void tryAcquire_whenTooManyAddresses_newOneEvictsFullestBucket() {
+        // Given
+        when(timeProvider.nanoTime()).thenReturn(SECOND);
+        RateLimiter rateLimiter = new TokenBucketRateLimiter(new RateLimitProperties(
+                2, "slow", Map.of("slow", new RateLimitProperties.Tier(2, 0.5)), Map.of()),
+                timeProvider);
+        rateLimiter.tryAcquire(null, "10.0.0.1");
+        rateLimiter.tryAcquire(null, "10.0.0.1");
+        rateLimiter.tryAcquire(null, "10.0.0.2");
+
+        // When
+        RateLimitDecision newcomer = rateLimiter.tryAcquire(null, "10.0.0.3");
+        final RateLimitDecision drained = rateLimiter.tryAcquire(null, "10.0.0.1");
+        final RateLimitDecision evicted = rateLimiter.tryAcquire(null, "10.0.0.2");
+
+        // Then
+        assertTrue(newcomer.allowed());
+        assertEquals(1, newcomer.remaining());
+        assertFalse(drained.allowed());
+        assertTrue(evicted.allowed());
+    }
+
+    @Test
+    @DisplayName("constructor - API key of an unknown tier - throws IllegalStateException")
+    void constructor_whenApiKeyOfUnknownTier_throwsIllegalStateException() {
+        // Given
+        RateLimitProperties properties = new RateLimitProperties(
+                10, "anonymous", TIERS, Map.of(API_KEY, "gold"));
+
+        // When / Then
+        assertThrows(IllegalStateException.class,
+                () -> new TokenBucketRateLimiter(properties, timeProvider));
+    }
+
+    private RateLimiter rateLimiter(int maxClients) {
+        return new TokenBucketRateLimiter(new RateLimitProperties(
+                maxClients, "anonymous", TIERS, Map.of(API_KEY, "partner")), timeProvider);
+    }
+}
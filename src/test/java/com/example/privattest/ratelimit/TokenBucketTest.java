@@ -0,0 +1,72 @@
+package com.example.privattest.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final long START = 42 * SECOND;
+
+    @Test
+    @DisplayName("tryAcquire - burst over capacity - rejects until a token is added")
+    void tryAcquire_whenBurstOverCapacity_rejectsUntilTokenIsAdded() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, 2, START);
+
+        // When / Then
+        assertEquals(2, bucket.tryAcquire(START));
+        assertEquals(1, bucket.tryAcquire(START));
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(-SECOND / 2, bucket.tryAcquire(START));
+        assertEquals(-SECOND / 4, bucket.tryAcquire(START + SECOND / 4));
+        assertEquals(0, bucket.tryAcquire(START + SECOND / 2));
+        assertFalse(bucket.isFull(START + SECOND));
+        assertTrue(bucket.isFull(START + 2 * SECOND));
+        assertEquals(2, bucket.tryAcquire(START + 10 * SECOND));
+    }
+
+    @Test
+    @DisplayName("tryAcquire - concurrent takes - grant exactly the capacity")
+    void tryAcquire_whenConcurrentTakes_grantExactlyCapacity() throws Exception {
+        // Given
+        int threads = 8;
+        int attemptsPerThread = 10_000;
+        TokenBucket bucket = new TokenBucket(1000, 0.001, START);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int attempt = 0; attempt < attemptsPerThread; attempt++) {
+                    if (bucket.tryAcquire(START) >= 0) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        start.countDown();
+        int granted = 0;
+        for (Future<Integer> future : futures) {
+            granted += future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertEquals(1000, granted);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.privattest.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.service.SchedulerLockService;
+import com.example.privattest.store.RateStoreLoader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateUpdateSchedulerTest {
+    @InjectMocks
+    private ExchangeRateUpdateScheduler scheduler;
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    @Mock
+    private SchedulerLockService schedulerLockService;
+
+    @Mock
+    private RateStoreLoader rateStoreLoader;
+
+    @Test
+    @DisplayName("updateExchangeRates - lock acquired - updates the rates and releases the lock")
+    void updateExchangeRates_whenLockAcquired_updatesRatesAndReleasesLock() {
+        // Given
+        when(schedulerLockService.tryLock(ExchangeRateUpdateScheduler.UPDATE_LOCK))
+                .thenReturn(true);
+
+        // When
+        scheduler.updateExchangeRates();
+
+        // Then
+        verify(exchangeRateService, times(1)).updateExchangeRates();
+        verify(schedulerLockService, times(1)).unlock(ExchangeRateUpdateScheduler.UPDATE_LOCK);
+    }
+
+    @Test
+    @DisplayName("updateExchangeRates - lock held by another instance - doesn't update the rates")
+    void updateExchangeRates_whenLockHeldByAnotherInstance_doesNotUpdateRates() {
+        // Given
+        when(schedulerLockService.tryLock(ExchangeRateUpdateScheduler.UPDATE_LOCK))
+                .thenReturn(false);
+
+        // When
+        scheduler.updateExchangeRates();
+
+        // Then
+        verify(exchangeRateService, never()).updateExchangeRates();
+        verify(schedulerLockService, never()).unlock(ExchangeRateUpdateScheduler.UPDATE_LOCK);
+    }
+
+    @Test
+    @DisplayName("updateExchangeRates - update fails - releases the lock")
+    void updateExchangeRates_whenUpdateFails_releasesLock() {
+        // Given
+        when(schedulerLockService.tryLock(ExchangeRateUpdateScheduler.UPDATE_LOCK))
+                .thenReturn(true);
+        doThrow(new IllegalStateException("Database is down"))
+                .when(exchangeRateService).updateExchangeRates();
+
+        // When
+        assertThrows(IllegalStateException.class, () -> scheduler.updateExchangeRates());
+
+        // Then
+        verify(schedulerLockService, times(1)).unlock(ExchangeRateUpdateScheduler.UPDATE_LOCK);
+    }
+
+    @Test
+    @DisplayName("syncExchangeRates - rates saved by another instance - refreshes the caches")
+    void syncExchangeRates_whenRatesSavedByAnotherInstance_refreshesCaches() {
+        // Given
+        when(rateStoreLoader.catchUp()).thenReturn(true);
+
+        // When
+        scheduler.syncExchangeRates();
+
+        // Then
+        verify(exchangeRateService, times(1)).refreshCaches();
+    }
+
+    @Test
+    @DisplayName("syncExchangeRates - no new rates - keeps the caches")
+    void syncExchangeRates_whenNoNewRates_keepsCaches() {
+        // Given
+        when(rateStoreLoader.catchUp()).thenReturn(false);
+
+        // When
+        scheduler.syncExchangeRates();
+
+        // Then
+        verify(exchangeRateService, never()).refreshCaches();
+    }
+}
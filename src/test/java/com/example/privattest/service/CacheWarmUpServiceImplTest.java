@@ -0,0 +1,88 @@
+package com.example.privattest.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.impl.CacheWarmUpServiceImpl;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmUpServiceImplTest {
+    @InjectMocks
+    private CacheWarmUpServiceImpl cacheWarmUpService;
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cacheWarmUpService, "trackedCurrencies",
+                List.of(Currency.USD, Currency.EUR));
+    }
+
+    @Test
+    @DisplayName("warmUp - loads latest rate, hourly and daily dynamics of tracked currencies")
+    void warmUp_loadsAllCachedValuesOfTrackedCurrencies() {
+        // When
+        cacheWarmUpService.warmUp();
+
+        // Then
+        for (Currency currency : List.of(Currency.USD, Currency.EUR)) {
+            verify(exchangeRateService, times(1)).getLatestRate(currency);
+            verify(exchangeRateService, times(1)).getHourlyDynamics(currency);
+            verify(exchangeRateService, times(1)).getDailyDynamics(currency);
+        }
+        verify(eventPublisher, times(1)).publishEvent(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.USD, Currency.EUR)));
+    }
+
+    @Test
+    @DisplayName("warmUp - no data for a value - skips only that value")
+    void warmUp_whenNoDataForValue_skipsOnlyThatValue() {
+        // Given
+        // Lenient, as the same methods are called for the other currency too
+        lenient().when(exchangeRateService.getHourlyDynamics(Currency.USD))
+                .thenThrow(new CurrencyDataNotFoundException("For the last hour"));
+        lenient().when(exchangeRateService.getLatestRate(Currency.EUR))
+                .thenThrow(new CurrencyDataNotFoundException("EUR"));
+
+        // When / Then
+        assertDoesNotThrow(() -> cacheWarmUpService.warmUp());
+        verify(exchangeRateService, times(1)).getDailyDynamics(Currency.USD);
+        verify(exchangeRateService, times(1)).getHourlyDynamics(Currency.EUR);
+        verify(exchangeRateService, times(1)).getDailyDynamics(Currency.EUR);
+    }
+
+    @Test
+    @DisplayName("warmUp - unexpected error - fails so readiness stays down")
+    void warmUp_whenUnexpectedError_fails() {
+        // Given
+        when(exchangeRateService.getLatestRate(Currency.USD))
+                .thenThrow(new IllegalStateException("Database is unavailable"));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> cacheWarmUpService.warmUp());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.privattest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.dto.ConversionDto;
+import com.example.privattest.dto.ConversionRequestDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.impl.ConversionServiceImpl;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConversionServiceImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+    private static final ExchangeRateDto USD_RATE = new ExchangeRateDto(
+            Currency.USD, new BigDecimal("41.300000"), new BigDecimal("41.800000"), NOW);
+    private static final ExchangeRateDto EUR_RATE = new ExchangeRateDto(
+            Currency.EUR, new BigDecimal("43.550000"), new BigDecimal("44.150000"),
+            NOW.minusMinutes(1));
+
+    @InjectMocks
+    private ConversionServiceImpl conversionService;
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    @Mock
+    private PointInTimeRateService pointInTimeRateService;
+
+    @Test
+    @DisplayName("convertAll - latest rates - buys the source, sells the target and rounds")
+    void convertAll_latestRates_buysSourceSellsTargetAndRounds() {
+        // Given
+        refreshRates();
+
+        // When
+        List<ConversionDto> result = conversionService.convertAll(List.of(
+                request(Currency.USD, Currency.UAH, "100.50"),
+                request(Currency.UAH, Currency.USD, "1000"),
+                request(Currency.EUR, Currency.USD, "-10"),
+                request(Currency.USD, Currency.USD, "0.125")
+        ));
+
+        // Then
+        assertEquals(new BigDecimal("4150.65"), result.get(0).convertedAmount());
+        assertEquals(NOW, result.get(0).rateTimestamp());
+        // 1000 / 41.8 = 23.9234...
+        assertEquals(new BigDecimal("23.92"), result.get(1).convertedAmount());
+        // -10 * 43.55 / 41.8 = -10.4186...
+        assertEquals(new BigDecimal("-10.42"), result.get(2).convertedAmount());
+        assertEquals(NOW.minusMinutes(1), result.get(2).rateTimestamp());
+        assertEquals(new BigDecimal("0.13"), result.get(3).convertedAmount());
+    }
+
+    @Test
+    @DisplayName("convert - amount too large for fixed-point math - gives the same result")
+    void convert_whenAmountTooLargeForFixedPoint_givesSameResult() {
+        // Given
+        refreshRates();
+        BigDecimal amount = new BigDecimal("123456789012345678901234.5678");
+
+        // When
+        ConversionDto result = conversionService.convert(
+                new ConversionRequestDto(Currency.USD, Currency.EUR, amount, null));
+
+        // Then
+        assertEquals(amount.multiply(USD_RATE.rateBuy())
+                        .divide(EUR_RATE.rateSell(), 2, RoundingMode.HALF_UP),
+                result.convertedAmount());
+    }
+
+    @Test
+    @DisplayName("convert - time requested - uses the rate in effect at that time")
+    void convert_whenTimeRequested_usesRateInEffectAtThatTime() {
+        // Given
+        LocalDateTime lastYear = NOW.minusYears(1);
+        when(pointInTimeRateService.getRateAt(Currency.USD, lastYear)).thenReturn(
+                new ExchangeRateDto(Currency.USD, new BigDecimal("37.5"),
+                        new BigDecimal("38.0"), lastYear.minusMinutes(30)));
+
+        // When
+        ConversionDto result = conversionService.convert(new ConversionRequestDto(
+                Currency.USD, Currency.UAH, BigDecimal.TEN, lastYear));
+
+        // Then
+        assertEquals(new BigDecimal("375.00"), result.convertedAmount());
+        assertEquals(lastYear.minusMinutes(30), result.rateTimestamp());
+    }
+
+    @Test
+    @DisplayName("convert - no rate of the currency - throws CurrencyDataNotFoundException")
+    void convert_whenNoRateOfCurrency_throwsCurrencyDataNotFoundException() {
+        // When / Then
+        assertThrows(CurrencyDataNotFoundException.class, () -> conversionService.convert(
+                request(Currency.EUR, Currency.UAH, "1")));
+    }
+
+    private void refreshRates() {
+        when(exchangeRateService.getLatestRate(Currency.USD)).thenReturn(USD_RATE);
+        when(exchangeRateService.getLatestRate(Currency.EUR)).thenReturn(EUR_RATE);
+        conversionService.onExchangeRatesRefreshed(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.USD, Currency.EUR)));
+    }
+
+    private ConversionRequestDto request(Currency from, Currency to, String amount) {
+        return new ConversionRequestDto(from, to, new BigDecimal(amount), null);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.privattest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.mapper.ExchangeRateMapper;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.model.ExportFormat;
+import com.example.privattest.repository.ExchangeRateRepository;
+import com.example.privattest.service.impl.ExchangeRateExportServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateExportServiceImplTest {
+    private static final int PAGE_SIZE = 2;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 12, 7, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 12, 7, 23, 59);
+
+    @Mock
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Mock
+    private ExchangeRateMapper exchangeRateMapper;
+
+    private ExchangeRateExportServiceImpl exportService;
+
+    private final List<ExchangeRate> rates = List.of(
+            new ExchangeRate(1L, Currency.USD, new BigDecimal("41.25"),
+                    new BigDecimal("41.79"), START.plusHours(10)),
+            new ExchangeRate(3L, Currency.USD, new BigDecimal("41.26"),
+                    new BigDecimal("41.80"), START.plusHours(11)),
+            new ExchangeRate(5L, Currency.USD, new BigDecimal("41.32"),
+                    new BigDecimal("41.82"), START.plusHours(12))
+    );
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExchangeRateExportServiceImpl(
+                exchangeRateRepository, exchangeRateMapper, objectMapper
+        );
+        ReflectionTestUtils.setField(exportService, "pageSize", PAGE_SIZE);
+        when(exchangeRateRepository.findPageAfter(
+                Currency.USD, START, 0L, END, Limit.of(PAGE_SIZE)
+        )).thenReturn(rates.subList(0, 2));
+        when(exchangeRateRepository.findPageAfter(
+                Currency.USD, START.plusHours(11), 3L, END, Limit.of(PAGE_SIZE)
+        )).thenReturn(rates.subList(2, 3));
+    }
+
+    @Test
+    @DisplayName("exportRates - CSV format - writes header and all pages")
+    @SneakyThrows
+    void exportRates_whenCsvFormat_writesHeaderAndAllPages() {
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // When
+        long exported = exportService.exportRates(
+                Currency.USD, START, END, ExportFormat.CSV, outputStream
+        );
+
+        // Then
+        assertEquals(3, exported);
+        assertEquals("""
+                currency,rateBuy,rateSell,timestamp
+                USD,41.25,41.79,2024-12-07T10:00
+                USD,41.26,41.80,2024-12-07T11:00
+                USD,41.32,41.82,2024-12-07T12:00
+                """, outputStream.toString(StandardCharsets.UTF_8));
+        verify(exchangeRateRepository, times(2))
+                .findPageAfter(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("exportRates - NDJSON format - writes one JSON object per line")
+    @SneakyThrows
+    void exportRates_whenNdjsonFormat_writesOneObjectPerLine() {
+        // Given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        rates.forEach(rate -> when(exchangeRateMapper.toDto(rate)).thenReturn(
+                new ExchangeRateDto(rate.getCurrency(), rate.getRateBuy(),
+                        rate.getRateSell(), rate.getTimestamp())
+        ));
+
+        // When
+        long exported = exportService.exportRates(
+                Currency.USD, START, END, ExportFormat.NDJSON, outputStream
+        );
+
+        // Then
+        assertEquals(3, exported);
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("""
+                {"currency":"USD","rateBuy":41.25,"rateSell":41.79,\
+                "timestamp":"2024-12-07T10:00:00"}\
+                """, lines[0]);
+    }
+}
@@ -4,18 +4,26 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.example.privattest.config.CacheNames;
+import com.example.privattest.dto.CurrencySnapshotDto;
 import com.example.privattest.dto.DynamicDetailsDto;
 import com.example.privattest.dto.ExchangeRateDto;
 import com.example.privattest.dto.PrivatRateApiResponse;
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
 import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.journal.RateJournal;
 import com.example.privattest.mapper.ExchangeRateMapper;
 import com.example.privattest.model.Currency;
 import com.example.privattest.model.ExchangeRate;
@@ -23,10 +31,16 @@ import com.example.privattest.notification.impl.TelegramNotificationService;
 import com.example.privattest.repository.ExchangeRateRepository;
 import com.example.privattest.service.impl.ExchangeRateServiceImpl;
 import com.example.privattest.service.impl.PrivatBankApiService;
+import com.example.privattest.store.RateTimeSeriesStore;
+import com.example.privattest.sync.RateChangePublisher;
+import com.example.privattest.util.CacheRefreshGuard;
 import com.example.privattest.util.TimeProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -34,14 +48,24 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class ExchangeRateServiceImplTest {
@@ -71,6 +95,38 @@ class ExchangeRateServiceImplTest {
     @Mock
     private TelegramNotificationService notificationService;
 
+    @Mock
+    private RateJournal rateJournal;
+
+    @Mock
+    private RateTimeSeriesStore rateTimeSeriesStore;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private RateChangePublisher rateChangePublisher;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private CacheRefreshGuard cacheRefreshGuard = new CacheRefreshGuard();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cacheManager.getCache(anyString())).thenReturn(cache);
+    }
+
     @Test
     @DisplayName("getLatestRate - valid currency provided - returns latest exchange rate")
     void getLatestRate_whenValidCurrencyProvided_returnsLatestExchangeRate() {
@@ -108,6 +164,36 @@ class ExchangeRateServiceImplTest {
         verify(exchangeRateMapper, times(1)).toDto(latestRate);
     }
 
+    @Test
+    @DisplayName("getLatestRate - rate is in the store - doesn't query the repository")
+    void getLatestRate_whenRateIsInStore_doesNotQueryRepository() {
+        // Given
+        Currency currency = Currency.USD;
+        ExchangeRate latestRate = new ExchangeRate(
+                1L,
+                currency,
+                BigDecimal.valueOf(37.00),
+                BigDecimal.valueOf(37.10),
+                NOW
+        );
+        ExchangeRateDto expectedDto = new ExchangeRateDto(
+                currency,
+                latestRate.getRateBuy(),
+                latestRate.getRateSell(),
+                NOW
+        );
+
+        when(rateTimeSeriesStore.findLatest(currency)).thenReturn(Optional.of(latestRate));
+        when(exchangeRateMapper.toDto(latestRate)).thenReturn(expectedDto);
+
+        // When
+        ExchangeRateDto result = exchangeRateService.getLatestRate(currency);
+
+        // Then
+        assertEquals(expectedDto, result);
+        verify(exchangeRateRepository, times(0)).findTopByCurrencyOrderByTimestampDesc(currency);
+    }
+
     @Test
     @DisplayName("""
             getLatestRate - repository returns empty Optional - throws CurrencyDataNotFoundException
@@ -300,6 +386,7 @@ class ExchangeRateServiceImplTest {
         // Given
         LocalDateTime now = LocalDateTime.now();
         mockBankApiServices();
+        when(timeProvider.now()).thenReturn(now);
 
         List<PrivatRateApiResponse> privatExchangeRates = List.of(
                 new PrivatRateApiResponse(
@@ -356,12 +443,21 @@ class ExchangeRateServiceImplTest {
 
         when(calculationService.calculateAverageRates(anyList())).thenReturn(averageRates);
         when(exchangeRateRepository.saveAll(anyCollection())).thenReturn(exchangeRatesToSave);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation
+                .<TransactionCallback<?>>getArgument(0).doInTransaction(null));
 
         // When
         exchangeRateService.updateExchangeRates();
 
         // Then
+        verify(transactionTemplate, times(1)).execute(any());
         verify(exchangeRateRepository, times(1)).saveAll(anyCollection());
+        verify(notificationService, times(1)).notify(exchangeRatesToSave);
+        // Saved with the precision of the journal, so they can be rebuilt from it
+        assertEquals(now.truncatedTo(ChronoUnit.MILLIS), exchangeRatesToSave.get(0).getTimestamp());
+        verify(rateJournal, times(1)).append(any());
+        verify(rateTimeSeriesStore, times(2)).add(any());
+        verify(rateChangePublisher, times(1)).publishRatesSaved();
         verify(exchangeRateMapper, times(2)).toExchangeRate(any());
         verify(calculationService, times(1))
                 .calculateAverageRates(anyList());
@@ -372,6 +468,7 @@ class ExchangeRateServiceImplTest {
     void updateExchangeRates_whenErrorOccursWhileFetchingRates_doesNotSaveRates() {
         // Given
         mockBankApiServices();
+        when(timeProvider.now()).thenReturn(NOW);
         CompletableFuture<List<PrivatRateApiResponse>> failedFuture = new CompletableFuture<>();
         failedFuture.completeExceptionally(new RuntimeException("API Error"));
         when(privatBankApiService.fetchRates())
@@ -380,6 +477,210 @@ class ExchangeRateServiceImplTest {
         // When / Then
         assertDoesNotThrow(() -> exchangeRateService.updateExchangeRates());
         verify(exchangeRateRepository, times(0)).saveAll(anyList());
+        verify(rateChangePublisher, never()).publishRatesSaved();
+    }
+
+    @Test
+    @DisplayName("refreshCaches - fresh data available - puts new values into the caches")
+    void refreshCaches_whenFreshDataAvailable_putsNewValues() {
+        // Given
+        ReflectionTestUtils.setField(exchangeRateService, "maxDifference", MAX_DIFFERENCE);
+        ReflectionTestUtils.setField(exchangeRateService, "trackedCurrencies",
+                List.of(Currency.USD));
+        ExchangeRate latestRate = new ExchangeRate(
+                2L, Currency.USD, BigDecimal.valueOf(37.00), BigDecimal.valueOf(37.10), NOW);
+        ExchangeRate oldRate = new ExchangeRate(
+                1L, Currency.USD, BigDecimal.valueOf(36.50), BigDecimal.valueOf(36.60),
+                NOW.minusHours(1));
+        ExchangeRateDto latestDto = new ExchangeRateDto(
+                Currency.USD, latestRate.getRateBuy(), latestRate.getRateSell(), NOW);
+        DynamicDetailsDto hourlyDynamics = new DynamicDetailsDto(
+                Currency.USD, BigDecimal.ONE, NOW.minusHours(1), BigDecimal.ONE, NOW);
+
+        when(rateTimeSeriesStore.findLatest(Currency.USD)).thenReturn(Optional.of(latestRate));
+        when(rateTimeSeriesStore.covers(eq(Currency.USD), any())).thenReturn(true);
+        when(rateTimeSeriesStore.findLatestBetween(eq(Currency.USD), any(), any()))
+                .thenReturn(Optional.of(oldRate));
+        when(rateTimeSeriesStore.findAllBetween(eq(Currency.USD), any(), any()))
+                .thenReturn(List.of(latestRate, oldRate));
+        when(timeProvider.today()).thenReturn(NOW.toLocalDate());
+        when(exchangeRateMapper.toDto(latestRate)).thenReturn(latestDto);
+        when(calculationService.calculateDynamicDetails(Currency.USD, oldRate, latestRate))
+                .thenReturn(hourlyDynamics);
+        when(calculationService.calculateDailyDynamics(eq(Currency.USD), anyList()))
+                .thenReturn(List.of(hourlyDynamics));
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        // When
+        exchangeRateService.refreshCaches();
+
+        // Then
+        verify(cache, times(1)).put(Currency.USD, latestDto);
+        verify(cache, times(1)).put(Currency.USD, hourlyDynamics);
+        verify(cache, times(1)).put(Currency.USD, List.of(hourlyDynamics));
+        verify(cache, never()).evict(any());
+        verify(eventPublisher, times(1))
+                .publishEvent(new ExchangeRatesRefreshedEvent(List.of(Currency.USD)));
+        verify(exchangeRateRepository, never()).findTopByCurrencyOrderByTimestampDesc(any());
+    }
+
+    @Test
+    @DisplayName("refreshCaches - reader's load in flight - neither joins it nor lets it put")
+    void refreshCaches_whenReadersLoadInFlight_neitherJoinsItNorLetsItPut() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(exchangeRateService, "maxDifference", MAX_DIFFERENCE);
+        ReflectionTestUtils.setField(exchangeRateService, "trackedCurrencies",
+                List.of(Currency.USD));
+        ExchangeRate staleRate = new ExchangeRate(
+                1L, Currency.USD, BigDecimal.valueOf(36.50), BigDecimal.valueOf(36.60),
+                NOW.minusHours(1));
+        ExchangeRate freshRate = new ExchangeRate(
+                2L, Currency.USD, BigDecimal.valueOf(37.00), BigDecimal.valueOf(37.10), NOW);
+        ExchangeRateDto staleDto = new ExchangeRateDto(
+                Currency.USD, staleRate.getRateBuy(), staleRate.getRateSell(), NOW.minusHours(1));
+        ExchangeRateDto freshDto = new ExchangeRateDto(
+                Currency.USD, freshRate.getRateBuy(), freshRate.getRateSell(), NOW);
+        DynamicDetailsDto hourlyDynamics = new DynamicDetailsDto(
+                Currency.USD, BigDecimal.ONE, NOW.minusHours(1), BigDecimal.ONE, NOW);
+        CountDownLatch readerLoading = new CountDownLatch(1);
+        CountDownLatch releaseReader = new CountDownLatch(1);
+
+        when(rateTimeSeriesStore.findLatest(Currency.USD))
+                .thenAnswer(invocation -> {
+                    readerLoading.countDown();
+                    releaseReader.await();
+                    return Optional.of(staleRate);
+                })
+                .thenReturn(Optional.of(freshRate));
+        when(rateTimeSeriesStore.covers(eq(Currency.USD), any())).thenReturn(true);
+        when(rateTimeSeriesStore.findLatestBetween(eq(Currency.USD), any(), any()))
+                .thenReturn(Optional.of(staleRate));
+        when(rateTimeSeriesStore.findAllBetween(eq(Currency.USD), any(), any()))
+                .thenReturn(List.of(freshRate, staleRate));
+        when(timeProvider.today()).thenReturn(NOW.toLocalDate());
+        when(exchangeRateMapper.toDto(staleRate)).thenReturn(staleDto);
+        when(exchangeRateMapper.toDto(freshRate)).thenReturn(freshDto);
+        when(calculationService.calculateDynamicDetails(Currency.USD, staleRate, freshRate))
+                .thenReturn(hourlyDynamics);
+        when(calculationService.calculateDailyDynamics(eq(Currency.USD), anyList()))
+                .thenReturn(List.of(hourlyDynamics));
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        final CompletableFuture<ExchangeRateDto> reader = CompletableFuture.supplyAsync(
+                () -> exchangeRateService.getLatestRate(Currency.USD));
+        assertTrue(readerLoading.await(5, TimeUnit.SECONDS));
+
+        // Let the reader finish later, so a refresh joining its load wouldn't hang
+        CompletableFuture.runAsync(releaseReader::countDown,
+                CompletableFuture.delayedExecutor(500, TimeUnit.MILLISECONDS));
+
+        // When
+        exchangeRateService.refreshCaches();
+
+        // Then
+        assertEquals(staleDto, reader.get(5, TimeUnit.SECONDS));
+        verify(cache, times(1)).put(Currency.USD, freshDto);
+        // The reader's load finished after the refresh, so its value isn't put over the fresh one
+        verify(cache, never()).put(Currency.USD, staleDto);
+    }
+
+    @Test
+    @DisplayName("refreshCaches - no rate for the last hour - evicts only the hourly dynamics")
+    void refreshCaches_whenNoRateForLastHour_evictsOnlyHourlyDynamics() {
+        // Given
+        ReflectionTestUtils.setField(exchangeRateService, "maxDifference", MAX_DIFFERENCE);
+        ReflectionTestUtils.setField(exchangeRateService, "trackedCurrencies",
+                List.of(Currency.USD));
+        ExchangeRate latestRate = new ExchangeRate(
+                2L, Currency.USD, BigDecimal.valueOf(37.00), BigDecimal.valueOf(37.10), NOW);
+        ExchangeRateDto latestDto = new ExchangeRateDto(
+                Currency.USD, latestRate.getRateBuy(), latestRate.getRateSell(), NOW);
+        DynamicDetailsDto dailyDynamics = new DynamicDetailsDto(
+                Currency.USD, BigDecimal.ZERO, NOW, BigDecimal.ZERO, NOW);
+
+        when(rateTimeSeriesStore.findLatest(Currency.USD)).thenReturn(Optional.of(latestRate));
+        when(rateTimeSeriesStore.covers(eq(Currency.USD), any())).thenReturn(true);
+        when(rateTimeSeriesStore.findLatestBetween(eq(Currency.USD), any(), any()))
+                .thenReturn(Optional.empty());
+        when(rateTimeSeriesStore.findAllBetween(eq(Currency.USD), any(), any()))
+                .thenReturn(List.of(latestRate));
+        when(timeProvider.today()).thenReturn(NOW.toLocalDate());
+        when(exchangeRateMapper.toDto(latestRate)).thenReturn(latestDto);
+        when(calculationService.calculateDailyDynamics(eq(Currency.USD), anyList()))
+                .thenReturn(List.of(dailyDynamics));
+        Cache hourlyDynamicsCache = Mockito.mock(Cache.class);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(cacheManager.getCache(CacheNames.DYNAMIC_DETAILS)).thenReturn(hourlyDynamicsCache);
+
+        // When
+        exchangeRateService.refreshCaches();
+
+        // Then
+        verify(cache, times(1)).put(Currency.USD, latestDto);
+        verify(cache, times(1)).put(Currency.USD, List.of(dailyDynamics));
+        verify(cache, never()).evict(any());
+        verify(hourlyDynamicsCache, times(1)).evict(Currency.USD);
+        verify(hourlyDynamicsCache, never()).put(any(), any());
+    }
+
+    @Test
+    @DisplayName("refreshCaches - no data for currency - evicts its cached values")
+    void refreshCaches_whenNoDataForCurrency_evictsCachedValues() {
+        // Given
+        ReflectionTestUtils.setField(exchangeRateService, "trackedCurrencies",
+                List.of(Currency.EUR));
+        when(exchangeRateRepository.findTopByCurrencyOrderByTimestampDesc(Currency.EUR))
+                .thenReturn(Optional.empty());
+        when(timeProvider.today()).thenReturn(NOW.toLocalDate());
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+
+        // When
+        exchangeRateService.refreshCaches();
+
+        // Then
+        verify(cache, times(3)).evict(Currency.EUR);
+        verify(cache, never()).put(any(), any());
+    }
+
+    @Test
+    @DisplayName("getSnapshot - some rates not cached - fetches them in one query")
+    void getSnapshot_whenSomeRatesNotCached_fetchesThemInOneQuery() {
+        // Given
+        ReflectionTestUtils.setField(exchangeRateService, "maxDifference", MAX_DIFFERENCE);
+        ExchangeRate eurRate = new ExchangeRate(
+                2L, Currency.EUR, BigDecimal.valueOf(43.50), BigDecimal.valueOf(44.30), NOW);
+        ExchangeRateDto usdDto = new ExchangeRateDto(
+                Currency.USD, BigDecimal.valueOf(41.32), BigDecimal.valueOf(41.82), NOW);
+        ExchangeRateDto eurDto = new ExchangeRateDto(
+                Currency.EUR, eurRate.getRateBuy(), eurRate.getRateSell(), NOW);
+        DynamicDetailsDto usdDynamics = new DynamicDetailsDto(
+                Currency.USD, BigDecimal.ONE, NOW.minusHours(1), BigDecimal.ONE, NOW);
+
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(cache.get(any(), eq(ExchangeRateDto.class))).thenReturn(null);
+        when(cache.get(Currency.USD, ExchangeRateDto.class)).thenReturn(usdDto);
+        when(rateTimeSeriesStore.findLatest(any())).thenReturn(Optional.empty());
+        when(exchangeRateRepository.findLatestOfCurrencies(List.of("EUR", "UAH")))
+                .thenReturn(List.of(eurRate));
+        when(exchangeRateMapper.toDto(eurRate)).thenReturn(eurDto);
+        when(cache.get(Currency.USD)).thenReturn(new SimpleValueWrapper(usdDynamics));
+        when(rateTimeSeriesStore.findLatest(Currency.EUR)).thenReturn(Optional.empty())
+                .thenReturn(Optional.of(eurRate));
+        when(rateTimeSeriesStore.covers(eq(Currency.EUR), any())).thenReturn(true);
+        when(rateTimeSeriesStore.findLatestBetween(eq(Currency.EUR), any(), any()))
+                .thenReturn(Optional.empty());
+
+        // When
+        List<CurrencySnapshotDto> result = exchangeRateService.getSnapshot(
+                List.of(Currency.USD, Currency.EUR, Currency.UAH, Currency.USD), true);
+
+        // Then
+        assertEquals(List.of(
+                new CurrencySnapshotDto(Currency.USD, usdDto, usdDynamics),
+                new CurrencySnapshotDto(Currency.EUR, eurDto, null)
+        ), result);
+        verify(exchangeRateRepository, times(1)).findLatestOfCurrencies(anyCollection());
+        verify(exchangeRateRepository, never()).findTopByCurrencyOrderByTimestampDesc(any());
+        verify(cache, times(1)).put(Currency.EUR, eurDto);
     }
 
     private void mockBankApiServices() {
@@ -392,7 +693,16 @@ class ExchangeRateServiceImplTest {
                 notificationService,
                 exchangeRateMapper,
                 exchangeRateRepository,
-                timeProvider
+                timeProvider,
+                rateJournal,
+                rateTimeSeriesStore,
+                cacheManager,
+                eventPublisher,
+                rateChangePublisher,
+                transactionTemplate,
+                cacheRefreshGuard,
+                meterRegistry
         );
+        ReflectionTestUtils.setField(exchangeRateService, "trackedCurrencies", List.of());
     }
 }
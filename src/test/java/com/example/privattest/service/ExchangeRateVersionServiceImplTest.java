@@ -0,0 +1,118 @@
+package com.example.privattest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.impl.ExchangeRateVersionServiceImpl;
+import com.example.privattest.util.TimeProvider;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class ExchangeRateVersionServiceImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 20);
+    private static final LocalDateTime LAST_UPDATE = LocalDateTime.of(2024, 12, 7, 12, 0, 1);
+
+    @InjectMocks
+    private ExchangeRateVersionServiceImpl exchangeRateVersionService;
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    @Mock
+    private TimeProvider timeProvider;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(exchangeRateVersionService, "updateCron", "0 0 * * * ?");
+        exchangeRateVersionService.init();
+    }
+
+    @Test
+    @DisplayName("getLastModified - caches refreshed - returns timestamp of cached latest rate")
+    void getLastModified_whenCachesRefreshed_returnsTimestampOfCachedLatestRate() {
+        // Given
+        when(exchangeRateService.getLatestRate(Currency.USD)).thenReturn(
+                new ExchangeRateDto(Currency.USD, BigDecimal.ONE, BigDecimal.TEN, LAST_UPDATE));
+        when(exchangeRateService.getLatestRate(Currency.EUR))
+                .thenThrow(new CurrencyDataNotFoundException("EUR"));
+
+        // When
+        exchangeRateVersionService.onExchangeRatesRefreshed(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.USD, Currency.EUR)));
+
+        // Then
+        assertEquals(Optional.of(LAST_UPDATE),
+                exchangeRateVersionService.getLastModified(Currency.USD));
+        assertEquals(Optional.empty(), exchangeRateVersionService.getLastModified(Currency.EUR));
+    }
+
+    @Test
+    @DisplayName("getLastModified - refresh in progress - keeps version until it completes")
+    void getLastModified_whenRefreshInProgress_keepsVersionUntilItCompletes() {
+        // Given
+        when(exchangeRateService.getLatestRate(Currency.USD)).thenReturn(
+                new ExchangeRateDto(Currency.USD, BigDecimal.ONE, BigDecimal.TEN, LAST_UPDATE));
+        exchangeRateVersionService.onExchangeRatesRefreshed(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.USD)));
+
+        // When
+        when(exchangeRateService.getLatestRate(Currency.USD)).thenReturn(new ExchangeRateDto(
+                Currency.USD, BigDecimal.ONE, BigDecimal.TEN, LAST_UPDATE.plusHours(1)));
+
+        // Then
+        assertEquals(Optional.of(LAST_UPDATE),
+                exchangeRateVersionService.getLastModified(Currency.USD));
+        exchangeRateVersionService.onExchangeRatesRefreshed(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.USD)));
+        assertEquals(Optional.of(LAST_UPDATE.plusHours(1)),
+                exchangeRateVersionService.getLastModified(Currency.USD));
+    }
+
+    @Test
+    @DisplayName("getTimeToLive - next update ahead - returns time left until it")
+    void getTimeToLive_whenNextUpdateAhead_returnsTimeUntilIt() {
+        // Given
+        when(timeProvider.now()).thenReturn(NOW);
+
+        // When / Then
+        assertEquals(Duration.ofMinutes(40), exchangeRateVersionService.getTimeToLive(LAST_UPDATE));
+    }
+
+    @Test
+    @DisplayName("getTimeToLive - next update already due - returns zero")
+    void getTimeToLive_whenNextUpdateDue_returnsZero() {
+        // Given
+        when(timeProvider.now()).thenReturn(NOW);
+
+        // When / Then
+        assertEquals(Duration.ZERO,
+                exchangeRateVersionService.getTimeToLive(LAST_UPDATE.minusHours(1)));
+    }
+
+    @Test
+    @DisplayName("getEtag - any version - returns weak tag shared by all representations")
+    void getEtag_whenAnyVersion_returnsWeakTag() {
+        // Given
+        long lastModifiedMillis = exchangeRateVersionService.toEpochMilli(LAST_UPDATE);
+
+        // When / Then
+        assertEquals("W/\"USD-" + lastModifiedMillis + "\"",
+                exchangeRateVersionService.getEtag(Currency.USD, LAST_UPDATE));
+    }
+}
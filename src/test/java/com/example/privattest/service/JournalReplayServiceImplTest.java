@@ -0,0 +1,89 @@
+package com.example.privattest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.journal.RateJournal;
+import com.example.privattest.journal.RateJournalEntry;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.repository.ExchangeRateRepository;
+import com.example.privattest.service.impl.JournalReplayServiceImpl;
+import com.example.privattest.store.RateStoreLoader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class JournalReplayServiceImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0, 0, 123_000_000);
+
+    @InjectMocks
+    private JournalReplayServiceImpl journalReplayService;
+
+    @Mock
+    private RateJournal rateJournal;
+
+    @Mock
+    private CalculationService calculationService;
+
+    @Mock
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Mock
+    private RateStoreLoader rateStoreLoader;
+
+    @Test
+    @DisplayName("rebuildExchangeRates - replaces only the updates found in the journal")
+    @SuppressWarnings("unchecked")
+    void rebuildExchangeRates_replacesOnlyUpdatesFoundInJournal() {
+        // Given
+        LocalDateTime firstUpdate = NOW.minusHours(2);
+        LocalDateTime secondUpdate = NOW.minusHours(1);
+        doAnswer(invocation -> {
+            Consumer<RateJournalEntry> consumer = invocation.getArgument(0);
+            consumer.accept(new RateJournalEntry("privat", NOW.minusDays(1),
+                    List.of(quote(NOW.minusDays(1)))));
+            consumer.accept(new RateJournalEntry("privat", firstUpdate,
+                    List.of(quote(firstUpdate))));
+            consumer.accept(new RateJournalEntry("mono", firstUpdate,
+                    List.of(quote(firstUpdate))));
+            consumer.accept(new RateJournalEntry("privat", secondUpdate,
+                    List.of(quote(secondUpdate))));
+            return null;
+        }).when(rateJournal).replay(any(Consumer.class));
+        when(calculationService.calculateAverageRates(anyList()))
+                .thenAnswer(invocation -> Map.of(Currency.USD, quote(NOW)));
+        when(exchangeRateRepository.deleteAllByTimestampIn(List.of(firstUpdate, secondUpdate)))
+                .thenReturn(2);
+
+        // When
+        int saved = journalReplayService.rebuildExchangeRates(NOW.minusHours(3), NOW);
+
+        // Then
+        assertEquals(2, saved);
+        verify(calculationService, times(2)).calculateAverageRates(anyList());
+        verify(exchangeRateRepository, times(1))
+                .deleteAllByTimestampIn(List.of(firstUpdate, secondUpdate));
+        verify(exchangeRateRepository, times(1)).saveAll(anyList());
+        verify(rateStoreLoader, times(1)).load();
+    }
+
+    private ExchangeRate quote(LocalDateTime fetchedAt) {
+        return new ExchangeRate(null, Currency.USD, new BigDecimal("41.1"),
+                new BigDecimal("41.6"), fetchedAt);
+    }
+}
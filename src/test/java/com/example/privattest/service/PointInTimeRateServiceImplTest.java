@@ -0,0 +1,128 @@
+package com.example.privattest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.dto.PointInTimeRateDto;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.mapper.ExchangeRateMapper;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.repository.ExchangeRateRepository;
+import com.example.privattest.service.impl.PointInTimeRateServiceImpl;
+import com.example.privattest.store.RateTimeSeriesStore;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PointInTimeRateServiceImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+
+    @InjectMocks
+    private PointInTimeRateServiceImpl pointInTimeRateService;
+
+    @Mock
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Mock
+    private RateTimeSeriesStore rateTimeSeriesStore;
+
+    @Mock
+    private ExchangeRateMapper exchangeRateMapper;
+
+    @Test
+    @DisplayName("getRateAt - store covers the found rate - doesn't query the database")
+    void getRateAt_whenStoreCoversFoundRate_doesNotQueryDatabase() {
+        // Given
+        ExchangeRate storedRate = rate(NOW.minusMinutes(30));
+        ExchangeRateDto expected = dto(storedRate);
+        when(rateTimeSeriesStore.findLatestUntil(Currency.USD, NOW))
+                .thenReturn(Optional.of(storedRate));
+        when(rateTimeSeriesStore.covers(Currency.USD, storedRate.getTimestamp())).thenReturn(true);
+        when(exchangeRateMapper.toDto(storedRate)).thenReturn(expected);
+
+        // When
+        ExchangeRateDto result = pointInTimeRateService.getRateAt(Currency.USD, NOW);
+
+        // Then
+        assertEquals(expected, result);
+        verify(exchangeRateRepository, never())
+                .findTopByCurrencyAndTimestampLessThanEqualOrderByTimestampDesc(any(), any());
+    }
+
+    @Test
+    @DisplayName("getRateAt - time before any rate - throws CurrencyDataNotFoundException")
+    void getRateAt_whenTimeBeforeAnyRate_throwsCurrencyDataNotFoundException() {
+        // Given
+        LocalDateTime time = NOW.minusYears(10);
+        when(rateTimeSeriesStore.findLatestUntil(Currency.USD, time)).thenReturn(Optional.empty());
+        when(exchangeRateRepository.findTopByCurrencyAndTimestampLessThanEqualOrderByTimestampDesc(
+                Currency.USD, time)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(CurrencyDataNotFoundException.class,
+                () -> pointInTimeRateService.getRateAt(Currency.USD, time));
+    }
+
+    @Test
+    @DisplayName("getRatesAt - repeated and uncovered times - looks each distinct time up once")
+    void getRatesAt_whenRepeatedAndUncoveredTimes_looksEachDistinctTimeUpOnce() {
+        // Given
+        LocalDateTime lastMonth = NOW.minusMonths(1);
+        LocalDateTime lastYear = NOW.minusYears(1);
+        ExchangeRate storedRate = rate(lastMonth.minusMinutes(5));
+        ExchangeRate databaseRate = rate(lastMonth.minusMinutes(50));
+        ExchangeRateDto expected = dto(databaseRate);
+        when(rateTimeSeriesStore.findLatestUntil(Currency.USD, lastMonth))
+                .thenReturn(Optional.of(storedRate));
+        // The store may miss rates recorded before its window
+        when(rateTimeSeriesStore.covers(Currency.USD, storedRate.getTimestamp()))
+                .thenReturn(false);
+        when(rateTimeSeriesStore.findLatestUntil(Currency.USD, lastYear))
+                .thenReturn(Optional.empty());
+        when(exchangeRateRepository.findTopByCurrencyAndTimestampLessThanEqualOrderByTimestampDesc(
+                Currency.USD, lastMonth)).thenReturn(Optional.of(databaseRate));
+        when(exchangeRateRepository.findTopByCurrencyAndTimestampLessThanEqualOrderByTimestampDesc(
+                Currency.USD, lastYear)).thenReturn(Optional.empty());
+        when(exchangeRateMapper.toDto(databaseRate)).thenReturn(expected);
+
+        // When
+        List<PointInTimeRateDto> result = pointInTimeRateService
+                .getRatesAt(Currency.USD, List.of(lastMonth, lastYear, lastMonth));
+
+        // Then
+        assertEquals(List.of(lastMonth, lastYear, lastMonth),
+                result.stream().map(PointInTimeRateDto::time).toList());
+        assertEquals(expected, result.get(0).rate());
+        assertNull(result.get(1).rate());
+        assertEquals(expected, result.get(2).rate());
+        verify(exchangeRateRepository, times(1))
+                .findTopByCurrencyAndTimestampLessThanEqualOrderByTimestampDesc(
+                        Currency.USD, lastMonth);
+    }
+
+    private ExchangeRate rate(LocalDateTime timestamp) {
+        return new ExchangeRate(1L, Currency.USD, BigDecimal.valueOf(41.32),
+                BigDecimal.valueOf(41.82), timestamp);
+    }
+
+    private ExchangeRateDto dto(ExchangeRate rate) {
+        return new ExchangeRateDto(rate.getCurrency(), rate.getRateBuy(), rate.getRateSell(),
+                rate.getTimestamp());
+    }
+}
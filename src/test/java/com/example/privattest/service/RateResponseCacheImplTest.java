@@ -0,0 +1,108 @@
+package com.example.privattest.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.dto.DynamicDetailsDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.model.CachedRateResponse;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.RateEndpoint;
+import com.example.privattest.service.impl.RateResponseCacheImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RateResponseCacheImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+    private static final String ETAG = "W/\"USD-1733572800000\"";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    @Mock
+    private ExchangeRateVersionService exchangeRateVersionService;
+
+    private RateResponseCacheImpl rateResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        rateResponseCache = new RateResponseCacheImpl(
+                exchangeRateService, exchangeRateVersionService, objectMapper);
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("refresh - data available - serializes plain and gzipped bodies")
+    void refresh_whenDataAvailable_serializesBodies() {
+        // Given
+        ExchangeRateDto latestRate = new ExchangeRateDto(
+                Currency.USD, BigDecimal.valueOf(41.1), BigDecimal.valueOf(41.5), NOW);
+        DynamicDetailsDto dynamics = new DynamicDetailsDto(
+                Currency.USD, BigDecimal.ONE, NOW.minusHours(1), BigDecimal.TEN, NOW);
+        when(exchangeRateVersionService.getLastModified(Currency.USD)).thenReturn(Optional.of(NOW));
+        when(exchangeRateVersionService.getEtag(Currency.USD, NOW)).thenReturn(ETAG);
+        when(exchangeRateVersionService.toEpochMilli(NOW)).thenReturn(1733572800000L);
+        when(exchangeRateService.getLatestRate(Currency.USD)).thenReturn(latestRate);
+        when(exchangeRateService.getHourlyDynamics(Currency.USD)).thenReturn(dynamics);
+        when(exchangeRateService.getDailyDynamics(Currency.USD)).thenReturn(List.of(dynamics));
+
+        // When
+        rateResponseCache.refresh(List.of(Currency.USD));
+
+        // Then
+        CachedRateResponse response = rateResponseCache.get(RateEndpoint.LATEST, Currency.USD);
+        assertNotNull(response);
+        assertArrayEquals(objectMapper.writeValueAsBytes(latestRate), response.body());
+        assertArrayEquals(response.body(), new GZIPInputStream(
+                new ByteArrayInputStream(response.gzippedBody())).readAllBytes());
+        assertEquals(ETAG, response.etag());
+        assertEquals(1733572800000L, response.lastModifiedMillis());
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(dynamics)), rateResponseCache
+                .get(RateEndpoint.DAILY_DYNAMICS, Currency.USD).body());
+        assertNull(rateResponseCache.get(RateEndpoint.LATEST, Currency.EUR));
+    }
+
+    @Test
+    @DisplayName("refresh - no data for an endpoint - leaves it to the controller")
+    void refresh_whenNoDataForEndpoint_doesNotCacheIt() {
+        // Given
+        when(exchangeRateVersionService.getLastModified(Currency.EUR)).thenReturn(Optional.of(NOW));
+        when(exchangeRateService.getLatestRate(Currency.EUR)).thenReturn(new ExchangeRateDto(
+                Currency.EUR, BigDecimal.valueOf(43.1), BigDecimal.valueOf(43.5), NOW));
+        when(exchangeRateService.getHourlyDynamics(Currency.EUR))
+                .thenThrow(new CurrencyDataNotFoundException("For the last hour"));
+        when(exchangeRateService.getDailyDynamics(Currency.EUR))
+                .thenThrow(new CurrencyDataNotFoundException("For today"));
+
+        // When
+        rateResponseCache.refresh(List.of(Currency.EUR));
+
+        // Then
+        assertNotNull(rateResponseCache.get(RateEndpoint.LATEST, Currency.EUR));
+        assertNull(rateResponseCache.get(RateEndpoint.HOURLY_DIFFERENCE, Currency.EUR));
+        assertNull(rateResponseCache.get(RateEndpoint.DAILY_DYNAMICS, Currency.EUR));
+    }
+}
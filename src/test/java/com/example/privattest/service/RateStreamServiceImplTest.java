@@ -0,0 +1,183 @@
+package com.example.privattest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.dto.CurrencySnapshotDto;
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.event.ExchangeRatesRefreshedEvent;
+import com.example.privattest.model.Currency;
+import com.example.privattest.service.impl.RateStreamServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ExtendWith(MockitoExtension.class)
+class RateStreamServiceImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+    private static final Duration WRITE_TIMEOUT = Duration.ofMillis(200);
+    private static final long AWAIT_SECONDS = 5;
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    private RateStreamServiceImpl rateStreamService;
+
+    @BeforeEach
+    void setUp() {
+        rateStreamService = new RateStreamServiceImpl(exchangeRateService,
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(rateStreamService, "trackedCurrencies",
+                List.of(Currency.USD, Currency.EUR));
+        ReflectionTestUtils.setField(rateStreamService, "timeout", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(rateStreamService, "senderThreads", 1);
+        ReflectionTestUtils.setField(rateStreamService, "writeTimeout", WRITE_TIMEOUT);
+        rateStreamService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        rateStreamService.shutdown();
+    }
+
+    @Test
+    @DisplayName("subscribe - no currencies given - follows tracked currencies")
+    void subscribe_whenNoCurrenciesGiven_followsTrackedCurrencies() {
+        // Given
+        when(exchangeRateService.getSnapshot(List.of(Currency.EUR, Currency.USD), true))
+                .thenReturn(List.of(snapshot(Currency.USD)));
+
+        // When
+        rateStreamService.subscribe(null);
+        rateStreamService.subscribe(List.of(Currency.EUR, Currency.USD));
+
+        // Then
+        verify(exchangeRateService, times(2))
+                .getSnapshot(List.of(Currency.EUR, Currency.USD), true);
+        assertEquals(2, rateStreamService.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("onExchangeRatesRefreshed - subscribers - calculates rates once for all of them")
+    void onExchangeRatesRefreshed_whenSubscribers_calculatesRatesOnce() {
+        // Given
+        when(exchangeRateService.getSnapshot(any(), anyBoolean())).thenReturn(List.of());
+        rateStreamService.subscribe(List.of(Currency.USD));
+        rateStreamService.subscribe(List.of(Currency.EUR));
+        when(exchangeRateService.getSnapshot(List.of(Currency.USD, Currency.EUR), true))
+                .thenReturn(List.of(snapshot(Currency.USD), snapshot(Currency.EUR)));
+
+        // When
+        rateStreamService.onExchangeRatesRefreshed(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.USD, Currency.EUR)));
+
+        // Then
+        verify(exchangeRateService, timeout(TimeUnit.SECONDS.toMillis(AWAIT_SECONDS)).times(1))
+                .getSnapshot(List.of(Currency.USD, Currency.EUR), true);
+    }
+
+    @Test
+    @DisplayName("onExchangeRatesRefreshed - stalled subscriber - drops it, others get the rates")
+    void onExchangeRatesRefreshed_whenSubscriberStalled_dropsItAndPushesToOthers()
+            throws Exception {
+        // Given
+        when(exchangeRateService.getSnapshot(any(), anyBoolean())).thenReturn(List.of());
+        CountDownLatch stalledWriteStarted = new CountDownLatch(1);
+        CountDownLatch stalledClientGone = new CountDownLatch(1);
+        CountDownLatch stalledCompleted = new CountDownLatch(1);
+        connect(rateStreamService.subscribe(List.of(Currency.USD)), event -> {
+            stalledWriteStarted.countDown();
+            stalledClientGone.await();
+        }, stalledCompleted);
+        CountDownLatch delivered = new CountDownLatch(1);
+        connect(rateStreamService.subscribe(List.of(Currency.EUR)),
+                event -> delivered.countDown(), new CountDownLatch(1));
+        when(exchangeRateService.getSnapshot(List.of(Currency.USD), true))
+                .thenReturn(List.of(snapshot(Currency.USD)));
+        when(exchangeRateService.getSnapshot(List.of(Currency.EUR), true))
+                .thenReturn(List.of(snapshot(Currency.EUR)));
+
+        // When
+        rateStreamService.onExchangeRatesRefreshed(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.USD)));
+        rateStreamService.onExchangeRatesRefreshed(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.EUR)));
+
+        // Then
+        assertTrue(stalledWriteStarted.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        // The only sender thread is stuck, the other subscriber is served by a spare one
+        assertTrue(delivered.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, rateStreamService.getSubscriberCount());
+        stalledClientGone.countDown();
+        assertTrue(stalledCompleted.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("onExchangeRatesRefreshed - no subscribers - doesn't calculate rates")
+    void onExchangeRatesRefreshed_whenNoSubscribers_doesNotCalculateRates() {
+        // When
+        rateStreamService.onExchangeRatesRefreshed(
+                new ExchangeRatesRefreshedEvent(List.of(Currency.USD)));
+
+        // Then
+        verify(exchangeRateService, never()).getSnapshot(any(), anyBoolean());
+    }
+
+    /**
+     * Connects the emitter to a stand-in for the response, as Spring MVC does when
+     * the controller returns it.
+     */
+    private static void connect(SseEmitter emitter, EventWriter writer, CountDownLatch completed)
+            throws ReflectiveOperationException {
+        Class<?> handlerType = Class.forName(ResponseBodyEmitter.class.getName() + "$Handler");
+        Object handler = Proxy.newProxyInstance(handlerType.getClassLoader(),
+                new Class<?>[] {handlerType}, (proxy, method, args) -> {
+                    if (method.getName().equals("send")) {
+                        writer.write(args[0]);
+                    } else if (method.getName().equals("complete")) {
+                        completed.countDown();
+                    }
+                    return null;
+                });
+        Method initialize = ResponseBodyEmitter.class.getDeclaredMethod(
+                "initialize", handlerType);
+        initialize.setAccessible(true);
+        initialize.invoke(emitter, handler);
+    }
+
+    @FunctionalInterface
+    private interface EventWriter {
+        void write(Object event) throws Exception;
+    }
+
+    private CurrencySnapshotDto snapshot(Currency currency) {
+        return new CurrencySnapshotDto(currency, new ExchangeRateDto(
+                currency, BigDecimal.ONE, BigDecimal.TEN, NOW), null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.privattest.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.dto.ExchangeRateDto;
+import com.example.privattest.exception.CurrencyDataNotFoundException;
+import com.example.privattest.mapper.ExchangeRateMapper;
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.repository.ReactiveExchangeRateRepository;
+import com.example.privattest.service.impl.ReactiveExchangeRateServiceImpl;
+import com.example.privattest.store.RateTimeSeriesStore;
+import com.example.privattest.util.CacheRefreshGuard;
+import com.example.privattest.util.TimeProvider;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveExchangeRateServiceImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+
+    @InjectMocks
+    private ReactiveExchangeRateServiceImpl reactiveExchangeRateService;
+
+    @Mock
+    private ReactiveExchangeRateRepository reactiveExchangeRateRepository;
+
+    @Mock
+    private RateTimeSeriesStore rateTimeSeriesStore;
+
+    @Mock
+    private CalculationService calculationService;
+
+    @Mock
+    private ExchangeRateMapper exchangeRateMapper;
+
+    @Mock
+    private TimeProvider timeProvider;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Spy
+    private CacheRefreshGuard cacheRefreshGuard = new CacheRefreshGuard();
+
+    @Test
+    @DisplayName("getLatestRate - not cached nor stored - reads database and caches the rate")
+    void getLatestRate_whenNotCachedNorStored_readsDatabaseAndCachesRate() {
+        // Given
+        ExchangeRate latestRate = new ExchangeRate(
+                1L, Currency.USD, BigDecimal.valueOf(41.32), BigDecimal.valueOf(41.82), NOW);
+        ExchangeRateDto expected = new ExchangeRateDto(
+                Currency.USD, latestRate.getRateBuy(), latestRate.getRateSell(), NOW);
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(rateTimeSeriesStore.findLatest(Currency.USD)).thenReturn(Optional.empty());
+        when(reactiveExchangeRateRepository.findTopByCurrencyOrderByTimestampDesc(Currency.USD))
+                .thenReturn(Mono.just(latestRate));
+        when(exchangeRateMapper.toDto(latestRate)).thenReturn(expected);
+
+        // When
+        ExchangeRateDto result = reactiveExchangeRateService.getLatestRate(Currency.USD).block();
+
+        // Then
+        assertEquals(expected, result);
+        verify(cache, times(1)).put(Currency.USD, expected);
+    }
+
+    @Test
+    @DisplayName("getDailyDynamics - no rates for today - fails with CurrencyDataNotFoundException")
+    void getDailyDynamics_whenNoRatesForToday_failsWithCurrencyDataNotFoundException() {
+        // Given
+        when(cacheManager.getCache(anyString())).thenReturn(cache);
+        when(timeProvider.today()).thenReturn(NOW.toLocalDate());
+        when(rateTimeSeriesStore.covers(eq(Currency.EUR), any())).thenReturn(false);
+        when(reactiveExchangeRateRepository
+                .findAllByCurrencyAndTimestampBetweenOrderByTimestampDesc(
+                        eq(Currency.EUR), any(), any()))
+                .thenReturn(Flux.empty());
+
+        // When / Then
+        assertThrows(CurrencyDataNotFoundException.class,
+                () -> reactiveExchangeRateService.getDailyDynamics(Currency.EUR).block());
+        verify(calculationService, never()).calculateDailyDynamics(any(), any());
+        verify(cache, never()).put(any(), any());
+    }
+}
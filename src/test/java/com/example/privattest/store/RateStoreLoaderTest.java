@@ -0,0 +1,123 @@
+package com.example.privattest.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.repository.ExchangeRateRepository;
+import com.example.privattest.store.impl.NoOpRateTimeSeriesStore;
+import com.example.privattest.store.impl.RingBufferRateTimeSeriesStore;
+import com.example.privattest.util.TimeProvider;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class RateStoreLoaderTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+
+    @Mock
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Mock
+    private TimeProvider timeProvider;
+
+    private RingBufferRateTimeSeriesStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RingBufferRateTimeSeriesStore();
+        ReflectionTestUtils.setField(store, "capacity", 16);
+    }
+
+    @Test
+    @DisplayName("load and catchUp - store enabled - serve the window and later rates from memory")
+    void loadAndCatchUp_whenStoreEnabled_serveRatesFromMemory() {
+        // Given
+        final RateStoreLoader loader = loader(store, true);
+        when(timeProvider.now()).thenReturn(NOW);
+        when(exchangeRateRepository.findAllByTimestampGreaterThanEqualOrderByTimestampAsc(
+                NOW.minusHours(72)))
+                .thenReturn(List.of(rate(1L, NOW.minusHours(2)), rate(2L, NOW.minusHours(1))));
+        when(exchangeRateRepository.findAllByCurrencyAndTimestampGreaterThanOrderByTimestampAsc(
+                any(), any()))
+                .thenReturn(List.of());
+        when(exchangeRateRepository.findAllByCurrencyAndTimestampGreaterThanOrderByTimestampAsc(
+                Currency.USD, NOW.minusHours(1)))
+                .thenReturn(List.of(rate(3L, NOW)));
+
+        // When
+        loader.load();
+        boolean appended = loader.catchUp();
+
+        // Then
+        assertTrue(appended);
+        assertTrue(store.covers(Currency.USD, NOW.minusHours(72)));
+        assertEquals(List.of(3L, 2L, 1L), store
+                .findAllBetween(Currency.USD, NOW.minusHours(72), NOW)
+                .stream().map(ExchangeRate::getId).toList());
+    }
+
+    @Test
+    @DisplayName("store disabled - no-op store is used and nothing is loaded")
+    void storeDisabled_usesNoOpStoreAndLoadsNothing() {
+        // Given
+        ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+                .withUserConfiguration(RingBufferRateTimeSeriesStore.class,
+                        NoOpRateTimeSeriesStore.class)
+                .withPropertyValues("store.capacity=16");
+        NoOpRateTimeSeriesStore noOpStore = new NoOpRateTimeSeriesStore();
+        RateStoreLoader loader = loader(noOpStore, false);
+
+        // When
+        loader.load();
+        noOpStore.add(rate(1L, NOW));
+
+        // Then
+        contextRunner.withPropertyValues("store.enabled=false").run(context ->
+                assertThat(context).getBean(RateTimeSeriesStore.class)
+                        .isInstanceOf(NoOpRateTimeSeriesStore.class));
+        contextRunner.run(context ->
+                assertThat(context).getBean(RateTimeSeriesStore.class)
+                        .isInstanceOf(RingBufferRateTimeSeriesStore.class));
+        assertFalse(loader.catchUp());
+        assertTrue(noOpStore.findLatest(Currency.USD).isEmpty());
+        assertFalse(noOpStore.covers(Currency.USD, NOW));
+        verify(exchangeRateRepository, never())
+                .findAllByTimestampGreaterThanEqualOrderByTimestampAsc(any());
+        verify(exchangeRateRepository, never())
+                .findAllByCurrencyAndTimestampGreaterThanOrderByTimestampAsc(any(), eq(NOW));
+    }
+
+    private RateStoreLoader loader(RateTimeSeriesStore rateTimeSeriesStore, boolean enabled) {
+        RateStoreLoader loader = new RateStoreLoader(
+                rateTimeSeriesStore, exchangeRateRepository, timeProvider);
+        ReflectionTestUtils.setField(loader, "enabled", enabled);
+        ReflectionTestUtils.setField(loader, "window", Duration.ofHours(72));
+        ReflectionTestUtils.setField(
+                loader, "trackedCurrencies", List.of(Currency.USD, Currency.EUR));
+        return loader;
+    }
+
+    private ExchangeRate rate(Long id, LocalDateTime timestamp) {
+        return new ExchangeRate(id, Currency.USD, new BigDecimal("41.1"),
+                new BigDecimal("41.6"), timestamp);
+    }
+}
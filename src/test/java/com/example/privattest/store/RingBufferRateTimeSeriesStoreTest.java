@@ -0,0 +1,169 @@
+package com.example.privattest.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.store.impl.RingBufferRateTimeSeriesStore;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class RingBufferRateTimeSeriesStoreTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+    private static final int CAPACITY = 7;
+
+    private RingBufferRateTimeSeriesStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new RingBufferRateTimeSeriesStore();
+        ReflectionTestUtils.setField(store, "capacity", CAPACITY);
+    }
+
+    @Test
+    @DisplayName("findLatest - rates loaded and added - returns the latest one")
+    void findLatest_whenRatesLoadedAndAdded_returnsLatestRate() {
+        // Given
+        store.load(Currency.USD, List.of(rate(1L, NOW.minusMinutes(10), "41.1")),
+                NOW.minusHours(1));
+        store.add(rate(2L, NOW, "41.234567"));
+
+        // When
+        Optional<ExchangeRate> result = store.findLatest(Currency.USD);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(2L, result.get().getId());
+        assertEquals(new BigDecimal("41.234567"), result.get().getRateBuy());
+        assertEquals(NOW, result.get().getTimestamp());
+        assertTrue(store.findLatest(Currency.EUR).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findAllBetween - returns the rates of the period, newest first")
+    void findAllBetween_returnsRatesOfPeriodNewestFirst() {
+        // Given
+        store.load(Currency.USD, List.of(
+                rate(1L, NOW.minusMinutes(30), "41.1"),
+                rate(2L, NOW.minusMinutes(20), "41.2"),
+                rate(3L, NOW.minusMinutes(10), "41.3")
+        ), NOW.minusHours(1));
+
+        // When
+        List<ExchangeRate> result = store.findAllBetween(
+                Currency.USD, NOW.minusMinutes(25), NOW.minusMinutes(10));
+
+        // Then
+        assertEquals(List.of(3L, 2L), result.stream().map(ExchangeRate::getId).toList());
+        assertEquals(Optional.of(2L), store.findLatestBetween(
+                Currency.USD, NOW.minusMinutes(25), NOW.minusMinutes(11))
+                .map(ExchangeRate::getId));
+        assertTrue(store.findLatestBetween(
+                Currency.USD, NOW.minusMinutes(29), NOW.minusMinutes(21)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findLatestUntil - returns the latest rate not after the time")
+    void findLatestUntil_returnsLatestRateNotAfterTime() {
+        // Given
+        store.load(Currency.USD, List.of(
+                rate(1L, NOW.minusMinutes(30), "41.1"),
+                rate(2L, NOW.minusMinutes(20), "41.2")
+        ), NOW.minusHours(1));
+
+        // When / Then
+        assertEquals(Optional.of(1L), store.findLatestUntil(Currency.USD, NOW.minusMinutes(21))
+                .map(ExchangeRate::getId));
+        assertEquals(Optional.of(2L), store.findLatestUntil(Currency.USD, NOW.minusMinutes(20))
+                .map(ExchangeRate::getId));
+        assertTrue(store.findLatestUntil(Currency.USD, NOW.minusMinutes(31)).isEmpty());
+        assertTrue(store.findLatestUntil(Currency.EUR, NOW).isEmpty());
+    }
+
+    @Test
+    @DisplayName("covers - oldest rates overwritten - period before them isn't covered")
+    void covers_whenOldestRatesOverwritten_doesNotCoverPeriodBeforeThem() {
+        // Given
+        store.load(Currency.USD, List.of(), NOW.minusHours(1));
+        assertTrue(store.covers(Currency.USD, NOW.minusHours(1)));
+
+        // When
+        for (int i = CAPACITY + 1; i > 0; i--) {
+            store.add(rate((long) i, NOW.minusMinutes(i), "41.0"));
+        }
+
+        // Then
+        assertFalse(store.covers(Currency.USD, NOW.minusMinutes(CAPACITY + 1)));
+        assertTrue(store.covers(Currency.USD, NOW.minusMinutes(CAPACITY)));
+        assertEquals(CAPACITY, store.findAllBetween(Currency.USD, NOW.minusHours(1), NOW).size());
+        assertFalse(store.covers(Currency.EUR, NOW));
+    }
+
+    @Test
+    @DisplayName("find - writer wraps around concurrently - never returns a torn rate")
+    void find_whenWriterWrapsAroundConcurrently_neverReturnsTornRate() throws Exception {
+        // Given
+        store.load(Currency.USD, List.of(), NOW);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<CompletableFuture<Void>> readers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            readers.add(CompletableFuture.runAsync(() -> {
+                while (writing.get()) {
+                    List<ExchangeRate> rates = store.findAllBetween(
+                            Currency.USD, NOW, NOW.plusYears(1));
+                    rates.forEach(this::assertNotTorn);
+                    for (int j = 1; j < rates.size(); j++) {
+                        assertEquals(rates.get(j - 1).getId() - 1, rates.get(j).getId());
+                    }
+                    store.findLatestBetween(Currency.USD, NOW, NOW.plusYears(1))
+                            .ifPresent(this::assertNotTorn);
+                    if (!rates.isEmpty()) {
+                        store.findLatestUntil(Currency.USD,
+                                rates.get(rates.size() - 1).getTimestamp())
+                                .ifPresent(this::assertNotTorn);
+                    }
+                }
+            }));
+        }
+
+        // When
+        for (long id = 1; id <= 200_000; id++) {
+            store.add(sequentialRate(id));
+        }
+        writing.set(false);
+
+        // Then
+        CompletableFuture.allOf(readers.toArray(new CompletableFuture[0]))
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(CAPACITY, store.findAllBetween(Currency.USD, NOW, NOW.plusYears(1)).size());
+    }
+
+    private ExchangeRate sequentialRate(long id) {
+        return new ExchangeRate(id, Currency.USD, BigDecimal.valueOf(id),
+                BigDecimal.valueOf(id + 1), NOW.plusSeconds(id));
+    }
+
+    private void assertNotTorn(ExchangeRate rate) {
+        long id = rate.getId();
+        assertEquals(NOW.plusSeconds(id), rate.getTimestamp());
+        assertEquals(0, BigDecimal.valueOf(id).compareTo(rate.getRateBuy()));
+        assertEquals(0, BigDecimal.valueOf(id + 1).compareTo(rate.getRateSell()));
+    }
+
+    private ExchangeRate rate(Long id, LocalDateTime timestamp, String rateBuy) {
+        return new ExchangeRate(id, Currency.USD, new BigDecimal(rateBuy),
+                new BigDecimal(rateBuy).add(BigDecimal.ONE), timestamp);
+    }
+}
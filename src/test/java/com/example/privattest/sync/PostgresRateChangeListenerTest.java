@@ -0,0 +1,61 @@
+package com.example.privattest.sync;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.privattest.service.ExchangeRateService;
+import com.example.privattest.store.RateStoreLoader;
+import com.example.privattest.sync.impl.PostgresRateChangeListener;
+import com.example.privattest.util.InstanceId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGNotification;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresRateChangeListenerTest {
+    @InjectMocks
+    private PostgresRateChangeListener listener;
+
+    @Mock
+    private RateStoreLoader rateStoreLoader;
+
+    @Mock
+    private ExchangeRateService exchangeRateService;
+
+    @Mock
+    private PGNotification notification;
+
+    @Test
+    @DisplayName("handle - rates saved by another instance - refreshes the store and the caches")
+    void handle_whenRatesSavedByAnotherInstance_refreshesStoreAndCaches() {
+        // Given
+        when(notification.getParameter()).thenReturn("4242@other-host");
+
+        // When
+        listener.handle(new PGNotification[] {notification});
+
+        // Then
+        verify(rateStoreLoader, times(1)).catchUp();
+        verify(exchangeRateService, times(1)).refreshCaches();
+    }
+
+    @Test
+    @DisplayName("handle - own notification - keeps the local data")
+    void handle_whenOwnNotification_keepsLocalData() {
+        // Given
+        when(notification.getParameter()).thenReturn(InstanceId.get());
+
+        // When
+        listener.handle(new PGNotification[] {notification});
+
+        // Then
+        verify(rateStoreLoader, never()).catchUp();
+        verify(exchangeRateService, never()).refreshCaches();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.privattest.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class CacheRefreshGuardTest {
+    private final CacheRefreshGuard cacheRefreshGuard = new CacheRefreshGuard();
+    private final Cache cache = new ConcurrentMapCache("rates");
+
+    @Test
+    @DisplayName("putLoaded - no refresh since the load - puts the value")
+    void putLoaded_whenNoRefreshSinceLoad_putsValue() {
+        // Given
+        long generation = cacheRefreshGuard.generation();
+
+        // When
+        boolean put = cacheRefreshGuard.putLoaded(cache, "USD", "loaded", generation);
+
+        // Then
+        assertTrue(put);
+        assertEquals("loaded", cache.get("USD", String.class));
+    }
+
+    @Test
+    @DisplayName("putLoaded - refresh since the load - keeps the refreshed value")
+    void putLoaded_whenRefreshSinceLoad_keepsRefreshedValue() {
+        // Given
+        long generation = cacheRefreshGuard.generation();
+        cacheRefreshGuard.refresh(() -> cache.put("USD", "refreshed"));
+
+        // When
+        boolean put = cacheRefreshGuard.putLoaded(cache, "USD", "stale", generation);
+
+        // Then
+        assertFalse(put);
+        assertEquals("refreshed", cache.get("USD", String.class));
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("putLoaded - refresh in progress - doesn't wait for it nor put the value")
+    void putLoaded_whenRefreshInProgress_doesNotWaitNorPut() {
+        // Given
+        long generation = cacheRefreshGuard.generation();
+        CompletableFuture<Boolean> put = new CompletableFuture<>();
+
+        // When
+        cacheRefreshGuard.refresh(() -> CompletableFuture
+                .supplyAsync(() -> cacheRefreshGuard.putLoaded(cache, "USD", "stale", generation))
+                .thenAccept(put::complete)
+                .join());
+
+        // Then
+        assertFalse(put.get(5, TimeUnit.SECONDS));
+        assertNull(cache.get("USD"));
+    }
+}
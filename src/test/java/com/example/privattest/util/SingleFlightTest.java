@@ -0,0 +1,114 @@
+package com.example.privattest.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    @SneakyThrows
+    @DisplayName("execute - concurrent calls for the same key - share one computation")
+    void execute_whenConcurrentCallsForSameKey_sharesOneComputation() {
+        // Given
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch computationStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        // When
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            results.add(executor.submit(() -> singleFlight.execute("USD", () -> {
+                computationStarted.countDown();
+                await(release);
+                return computations.incrementAndGet();
+            })));
+            assertTrue(computationStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute(
+                        "USD", computations::incrementAndGet)));
+            }
+            // Give the other callers time to join the computation in flight
+            Thread.sleep(200);
+            release.countDown();
+
+            // Then
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    @SneakyThrows
+    @DisplayName("execute - computation fails - waiters receive the same exception")
+    void execute_whenComputationFails_waitersReceiveSameException() {
+        // Given
+        IllegalStateException failure = new IllegalStateException("No data");
+        CountDownLatch computationStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            final Future<Integer> first = executor.submit(() -> singleFlight.execute("EUR", () -> {
+                computationStarted.countDown();
+                await(release);
+                throw failure;
+            }));
+            assertTrue(computationStarted.await(5, TimeUnit.SECONDS));
+            final Future<Integer> waiter = executor.submit(
+                    () -> singleFlight.execute("EUR", () -> 1));
+            Thread.sleep(200);
+            release.countDown();
+
+            // Then
+            assertSame(failure, assertThrows(ExecutionException.class,
+                    () -> first.get(5, TimeUnit.SECONDS)).getCause());
+            assertSame(failure, assertThrows(ExecutionException.class,
+                    () -> waiter.get(5, TimeUnit.SECONDS)).getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("execute - sequential calls - compute the value again")
+    void execute_whenSequentialCalls_computesAgain() {
+        // Given
+        AtomicInteger computations = new AtomicInteger();
+
+        // When
+        singleFlight.execute("USD", computations::incrementAndGet);
+        int result = singleFlight.execute("USD", computations::incrementAndGet);
+
+        // Then
+        assertEquals(2, result);
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.privattest.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.example.privattest.model.Currency;
+import com.example.privattest.model.ExchangeRate;
+import com.example.privattest.store.impl.RingBufferRateTimeSeriesStore;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Runs the locking code of the read and refresh paths on virtual threads and fails
+ * if JFR records a {@code jdk.VirtualThreadPinned} event, i.e. a virtual thread
+ * blocked while holding a monitor and kept its carrier thread. Runs on Java 21+ only,
+ * e.g. in the {@code virtual-threads} profile.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningTest {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int THREADS = 64;
+    private static final Duration BLOCKING = Duration.ofMillis(20);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 12, 7, 12, 0);
+
+    private final VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("pinning-");
+
+    @Test
+    @DisplayName("read and refresh paths - on virtual threads - don't pin carrier threads")
+    void readAndRefreshPaths_whenOnVirtualThreads_doNotPinCarrierThreads() {
+        // Given
+        SingleFlight<Currency, Integer> singleFlight = new SingleFlight<>();
+        CacheRefreshGuard cacheRefreshGuard = new CacheRefreshGuard();
+        ConcurrentMapCache cache = new ConcurrentMapCache("rates");
+        RingBufferRateTimeSeriesStore store = new RingBufferRateTimeSeriesStore();
+        ReflectionTestUtils.setField(store, "capacity", 16);
+
+        // When
+        List<RecordedEvent> pinned = recordPinnedEvents(() -> runOnVirtualThreads(i -> {
+            singleFlight.execute(Currency.USD, () -> {
+                sleep(BLOCKING);
+                return i;
+            });
+            long generation = cacheRefreshGuard.generation();
+            if (i % 8 == 0) {
+                cacheRefreshGuard.refresh(() -> sleep(BLOCKING));
+            }
+            cacheRefreshGuard.putLoaded(cache, Currency.USD, i, generation);
+            store.add(new ExchangeRate((long) i, Currency.USD, BigDecimal.ONE, BigDecimal.TEN,
+                    NOW.plusMinutes(i)));
+            store.findLatest(Currency.USD);
+        }));
+
+        // Then
+        assertEquals(List.of(), pinned.stream().map(RecordedEvent::getStackTrace).toList());
+    }
+
+    @Test
+    // Java 24 lets virtual threads unmount inside synchronized blocks, so nothing pins there
+    @EnabledForJreRange(min = JRE.JAVA_21, max = JRE.JAVA_22)
+    @DisplayName("check - blocking in synchronized - records pinned event")
+    void check_whenBlockingInSynchronized_recordsPinnedEvent() {
+        // Given
+        Object monitor = new Object();
+
+        // When
+        List<RecordedEvent> pinned = recordPinnedEvents(() -> runOnVirtualThreads(i -> {
+            synchronized (monitor) {
+                sleep(BLOCKING);
+            }
+        }));
+
+        // Then
+        assertFalse(pinned.isEmpty());
+    }
+
+    @SneakyThrows
+    private List<RecordedEvent> recordPinnedEvents(Runnable workload) {
+        Path dump = Files.createTempFile("pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            workload.run();
+            recording.stop();
+            recording.dump(dump);
+            List<RecordedEvent> pinned = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                if (PINNED_EVENT.equals(event.getEventType().getName())) {
+                    pinned.add(event);
+                }
+            }
+            return pinned;
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @SneakyThrows
+    private void runOnVirtualThreads(IndexedTask task) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            tasks.add(CompletableFuture.runAsync(() -> task.run(index), executor));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]))
+                .get(30, TimeUnit.SECONDS);
+    }
+
+    @SneakyThrows
+    private static void sleep(Duration duration) {
+        Thread.sleep(duration.toMillis());
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index);
+    }
+}